@@ -0,0 +1,68 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.BucketAggregation;
+import ru.vzotov.fx.utils.DataSeries;
+import ru.vzotov.fx.utils.Downsampling;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updating the value of a point of a large series, with the aggregations updated incrementally,
+ * against building the aggregations from scratch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AggregationBenchmark {
+
+    @Param({"100000"})
+    public int points;
+
+    private DataSeries<Long, Object> series;
+    private BucketAggregation<Long, Long, Object> sums;
+    private Downsampling<Long, Object> lttb;
+    private Downsampling<Long, Object> minMax;
+    private int index;
+    private double value;
+
+    @Setup
+    public void setUp() {
+        series = new DataSeries<>(points);
+        for (int i = 0; i < points; i++) {
+            series.append((long) i, Math.sin(i / 100.0));
+        }
+        sums = new BucketAggregation<>(series, x -> x / 100, BucketAggregation.Aggregate.SUM);
+        lttb = Downsampling.lttb(series, Long::doubleValue, 1000);
+        minMax = Downsampling.minMax(series, 1000);
+    }
+
+    @Benchmark
+    public int updateIncremental() {
+        index = (index + 7919) % points;
+        series.setValue(index, ++value % 10);
+        return sums.size() + lttb.size() + minMax.size();
+    }
+
+    @Benchmark
+    public int rebuild() {
+        index = (index + 7919) % points;
+        series.setValue(index, ++value % 10);
+        return new BucketAggregation<>(series, (Long x) -> x / 100, BucketAggregation.Aggregate.SUM).size()
+                + Downsampling.lttb(series, Long::doubleValue, 1000).size()
+                + Downsampling.minMax(series, 1000).size();
+    }
+}
@@ -0,0 +1,111 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.control.Cell;
+import javafx.scene.image.Image;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.CellGraphicLoader;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time a cell spends on the JavaFX Application Thread to get its graphic when it is reused for another item,
+ * decoding a 256x256 PNG thumbnail synchronously, and with a {@link CellGraphicLoader}:
+ * from its cache, cycling over the 64 images of a viewport, and when the image is not cached,
+ * i.e. showing the placeholder, scheduling the decoding and cancelling the one of the previous item.
+ * The decodings are never run, so that the benchmark thread alone uses the loader.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CellGraphicLoaderBenchmark {
+
+    private static final int VIEWPORT = 64;
+
+    private byte[] png;
+    private CellGraphicLoader<Integer> cached;
+    private CellGraphicLoader<Integer> loading;
+    private Cell<Integer> cell;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        Headless.startup();
+        png = thumbnail();
+        final Image image = decode(png);
+        // images put into the cache by a run of the decoder on the calling thread
+        cached = new CellGraphicLoader<>(key -> image, null, VIEWPORT * 2, Runnable::run);
+        loading = new CellGraphicLoader<>(key -> image, null, VIEWPORT * 2, task -> {
+        });
+        cell = new Cell<>();
+        // decoded images are published on the JavaFX Application Thread, after the loads that started them
+        onFxThread(() -> {
+            final Cell<Integer> filler = new Cell<>();
+            for (int i = 0; i < VIEWPORT; i++) {
+                cached.graphic(filler, i);
+            }
+        });
+        onFxThread(() -> {
+        });
+        if (cached.size() != VIEWPORT) {
+            throw new IllegalStateException("Images are not cached: " + cached);
+        }
+    }
+
+    @Benchmark
+    public Image decodeOnFxThread() {
+        return decode(png);
+    }
+
+    @Benchmark
+    public Node graphicCached() {
+        return cached.graphic(cell, next++ & (VIEWPORT - 1));
+    }
+
+    @Benchmark
+    public Node graphicLoading() {
+        return loading.graphic(cell, next++);
+    }
+
+    private static Image decode(byte[] png) {
+        return new Image(new ByteArrayInputStream(png), 64, 64, true, true);
+    }
+
+    private static void onFxThread(Runnable action) throws InterruptedException, ExecutionException {
+        final FutureTask<Void> task = new FutureTask<>(action, null);
+        Platform.runLater(task);
+        task.get();
+    }
+
+    private static byte[] thumbnail() throws IOException {
+        final BufferedImage image = new BufferedImage(256, 256, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 256; y++) {
+            for (int x = 0; x < 256; x++) {
+                image.setRGB(x, y, (x * 31 + y * 17) << 8 | (x ^ y));
+            }
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,159 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import javafx.collections.FXCollections;
+import javafx.scene.Node;
+import javafx.scene.control.Cell;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.util.StringConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.CellTextCache;
+import ru.vzotov.fx.utils.CellUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updating a cell again with the item it already shows, as a virtualized table does for every visible cell
+ * on scroll and refresh, with {@link CellUtils#updateItem(Cell, StringConverter, HBox, Node, TextField)}
+ * and with the unconditional updates it did before.
+ * Getting the editor of a cell that starts editing, a new one from {@link CellUtils#createTextField(Cell, StringConverter)}
+ * and the one shared by the list from {@link CellUtils#sharedTextField(Cell, StringConverter)}.
+ * Showing a cell on scroll, cycling over the 64 items of a viewport, formatting them with the converter
+ * and through a {@link CellTextCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CellUtilsBenchmark {
+
+    private final StringConverter<Integer> converter = new StringConverter<>() {
+        @Override
+        public String toString(Integer value) {
+            return value == null ? "" : String.format("%,d", value);
+        }
+
+        @Override
+        public Integer fromString(String string) {
+            return Integer.valueOf(string.replace(",", ""));
+        }
+    };
+
+    private final CellTextCache<Integer> textCache = new CellTextCache<>(converter, 256);
+    private final Integer[] items = new Integer[64];
+    private int next;
+
+    private BenchmarkCell cell;
+    private BenchmarkCell editingCell;
+    private HBox hbox;
+    private Node graphic;
+    private Node editingGraphic;
+    private TextField textField;
+    private ListCell<Integer> listCell;
+
+    @Setup
+    public void setUp() {
+        Headless.startup();
+        cell = new BenchmarkCell();
+        editingCell = new BenchmarkCell();
+        hbox = new HBox();
+        graphic = new Region();
+        editingGraphic = new Region();
+        textField = new TextField();
+        cell.show(1_234_567);
+        editingCell.show(1_234_567);
+        editingCell.startEdit();
+        for (int i = 0; i < items.length; i++) {
+            items[i] = 1_000_000 + i;
+        }
+        listCell = new ListCell<>();
+        listCell.updateListView(new ListView<>(FXCollections.observableArrayList(1_234_567)));
+        listCell.updateIndex(0);
+    }
+
+    @Benchmark
+    public Cell<Integer> updateItem() {
+        CellUtils.updateItem(cell, converter, hbox, graphic, textField);
+        return cell;
+    }
+
+    @Benchmark
+    public Cell<Integer> updateItemUnconditional() {
+        unconditional(cell, converter, hbox, graphic, textField);
+        return cell;
+    }
+
+    @Benchmark
+    public Cell<Integer> updateEditingItem() {
+        CellUtils.updateItem(editingCell, converter, hbox, editingGraphic, textField);
+        return editingCell;
+    }
+
+    @Benchmark
+    public Cell<Integer> updateEditingItemUnconditional() {
+        unconditional(editingCell, converter, hbox, editingGraphic, textField);
+        return editingCell;
+    }
+
+    @Benchmark
+    public Cell<Integer> renderText() {
+        cell.show(items[next++ & (items.length - 1)]);
+        CellUtils.updateItem(cell, converter, hbox, graphic, textField);
+        return cell;
+    }
+
+    @Benchmark
+    public Cell<Integer> renderTextCached() {
+        cell.show(items[next++ & (items.length - 1)]);
+        CellUtils.updateItem(cell, textCache, hbox, graphic, textField);
+        return cell;
+    }
+
+    @Benchmark
+    public TextField createTextField() {
+        return CellUtils.createTextField(listCell, converter);
+    }
+
+    @Benchmark
+    public TextField sharedTextField() {
+        return CellUtils.sharedTextField(listCell, converter);
+    }
+
+    /**
+     * The updates done before the fast path
+     */
+    private static <T> void unconditional(Cell<T> cell, StringConverter<T> converter, HBox hbox, Node graphic, TextField textField) {
+        if (cell.isEmpty()) {
+            cell.setText(null);
+            cell.setGraphic(null);
+        } else if (cell.isEditing()) {
+            textField.setText(converter.toString(cell.getItem()));
+            cell.setText(null);
+            hbox.getChildren().setAll(graphic, textField);
+            cell.setGraphic(hbox);
+        } else {
+            cell.setText(converter.toString(cell.getItem()));
+            cell.setGraphic(graphic);
+        }
+    }
+
+    private static final class BenchmarkCell extends Cell<Integer> {
+        void show(Integer item) {
+            updateItem(item, false);
+        }
+    }
+}
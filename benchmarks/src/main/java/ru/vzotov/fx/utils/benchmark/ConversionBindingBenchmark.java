@@ -0,0 +1,81 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.ConversionBinding;
+import ru.vzotov.fx.utils.ConversionCache;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips through {@link ConversionBinding#changed}: a text property bound to a decimal property.
+ * Values are prepared up front, so the measured allocations belong to the binding and the converters.
+ * The cached variants memoize the converters with {@link ConversionCache}, large enough to hold every value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConversionBindingBenchmark {
+
+    private static final int VALUES = 1024;
+
+    private final StringProperty text = new SimpleStringProperty();
+    private final ObjectProperty<BigDecimal> amount = new SimpleObjectProperty<>();
+    private final StringProperty cachedText = new SimpleStringProperty();
+    private final ObjectProperty<BigDecimal> cachedAmount = new SimpleObjectProperty<>();
+    private final BigDecimal[] amounts = new BigDecimal[VALUES];
+    private final String[] texts = new String[VALUES];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < VALUES; i++) {
+            amounts[i] = BigDecimal.valueOf(i * 100L + 42, 2);
+            texts[i] = amounts[i].toPlainString();
+        }
+        ConversionBinding.bind(text, amount, BigDecimal::new, v -> v == null ? null : v.toPlainString());
+        ConversionBinding.bind(cachedText, cachedAmount,
+                new ConversionCache<>(BigDecimal::new, 2 * VALUES),
+                new ConversionCache<>(v -> v == null ? null : v.toPlainString(), 2 * VALUES));
+    }
+
+    @Benchmark
+    public String sourceToTarget() {
+        amount.set(amounts[index++ & (VALUES - 1)]);
+        return text.get();
+    }
+
+    @Benchmark
+    public BigDecimal targetToSource() {
+        text.set(texts[index++ & (VALUES - 1)]);
+        return amount.get();
+    }
+
+    @Benchmark
+    public String cachedSourceToTarget() {
+        cachedAmount.set(amounts[index++ & (VALUES - 1)]);
+        return cachedText.get();
+    }
+
+    @Benchmark
+    public BigDecimal cachedTargetToSource() {
+        cachedText.set(texts[index++ & (VALUES - 1)]);
+        return cachedAmount.get();
+    }
+}
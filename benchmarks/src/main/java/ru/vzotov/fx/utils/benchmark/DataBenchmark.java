@@ -0,0 +1,44 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.Data;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-instance heap cost of {@link Data}: the gc.alloc.rate.norm metric of {@link #create()} is the footprint
+ * of a point that is never observed, and {@link #createObserved()} the footprint of a point with all its properties.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DataBenchmark {
+
+    private final String x = "x";
+    private double value;
+
+    @Benchmark
+    public Data<String, Object> create() {
+        return new Data<>(x, ++value);
+    }
+
+    @Benchmark
+    public Data<String, Object> createObserved() {
+        final Data<String, Object> data = new Data<>(x, ++value);
+        data.xProperty();
+        data.valueProperty();
+        data.nodeProperty();
+        return data;
+    }
+}
@@ -0,0 +1,86 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.Data;
+import ru.vzotov.fx.utils.DataSeries;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a series of points as a list of {@link Data} and as a {@link DataSeries}, and sums its values.
+ * The gc.alloc.rate.norm metric shows the heap cost of a series.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DataSeriesBenchmark {
+
+    @Param({"100000"})
+    public int points;
+
+    private List<String> xs;
+    private double[] values;
+    private List<Data<String, Object>> dataList;
+    private DataSeries<String, Object> series;
+
+    @Setup
+    public void setUp() {
+        xs = new ArrayList<>(points);
+        values = new double[points];
+        for (int i = 0; i < points; i++) {
+            xs.add("x" + i);
+            values[i] = i;
+        }
+        dataList = buildList();
+        series = buildSeries();
+    }
+
+    @Benchmark
+    public List<Data<String, Object>> buildList() {
+        final List<Data<String, Object>> result = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            result.add(new Data<>(xs.get(i), values[i]));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public DataSeries<String, Object> buildSeries() {
+        final DataSeries<String, Object> result = new DataSeries<>(points);
+        result.appendAll(xs, values);
+        return result;
+    }
+
+    @Benchmark
+    public double sumList() {
+        double sum = 0;
+        for (Data<String, Object> data : dataList) {
+            sum += data.getValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sumSeries() {
+        double sum = 0;
+        for (int i = 0, n = series.size(); i < n; i++) {
+            sum += series.getValue(i);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,95 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.Data;
+import ru.vzotov.fx.utils.DataSeries;
+import ru.vzotov.fx.utils.DataUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Share-of-total and running sums over a list of {@link Data} and a {@link DataSeries}, with {@link DataUtils}
+ * and with a naive loop over the points.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DataUtilsBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int points;
+
+    private List<Data<Integer, Object>> list;
+    private DataSeries<Integer, Object> series;
+
+    @Setup
+    public void setUp() {
+        list = new ArrayList<>(points);
+        series = new DataSeries<>(points);
+        for (int i = 0; i < points; i++) {
+            list.add(new Data<>(i, i % 100));
+            series.append(i, i % 100);
+        }
+    }
+
+    @Benchmark
+    public double naiveShareOfTotal() {
+        double total = 0;
+        for (Data<Integer, Object> data : list) {
+            total += data.getValue();
+        }
+        for (Data<Integer, Object> data : list) {
+            data.setValue(data.getValue() / total);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public List<Data<Integer, Object>> shareOfTotal() {
+        DataUtils.shareOfTotal(list);
+        return list;
+    }
+
+    @Benchmark
+    public DataSeries<Integer, Object> shareOfTotalSeries() {
+        DataUtils.shareOfTotal(series);
+        return series;
+    }
+
+    @Benchmark
+    public double naiveRunningSum() {
+        double sum = 0;
+        for (Data<Integer, Object> data : list) {
+            sum += data.getValue();
+            data.setValue(sum);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public List<Data<Integer, Object>> runningSum() {
+        DataUtils.runningSum(list);
+        return list;
+    }
+
+    @Benchmark
+    public DataSeries<Integer, Object> runningSumSeries() {
+        DataUtils.runningSum(series);
+        return series;
+    }
+}
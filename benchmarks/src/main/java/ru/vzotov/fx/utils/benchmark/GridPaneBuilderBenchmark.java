@@ -0,0 +1,66 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import javafx.geometry.HPos;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.GridPaneBuilder;
+import ru.vzotov.fx.utils.GridPaneTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a two-column label/editor form with {@link GridPaneBuilder}, including the child nodes,
+ * as it happens every time a form is opened, and stamping the same form out of a {@link GridPaneTemplate}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GridPaneBuilderBenchmark {
+
+    @Param({"20", "200"})
+    public int rows;
+
+    private GridPaneTemplate template;
+
+    @Setup
+    public void setUp() {
+        template = builder().template();
+    }
+
+    @Benchmark
+    public GridPane build() {
+        return builder().build();
+    }
+
+    @Benchmark
+    public GridPane template() {
+        return template.create(Region::new);
+    }
+
+    private GridPaneBuilder builder() {
+        final GridPaneBuilder builder = new GridPaneBuilder(4, 4)
+                .column().align(HPos.RIGHT).build()
+                .column().hgrow(Priority.ALWAYS).build();
+        for (int row = 0; row < rows; row++) {
+            builder.row().build()
+                    .add(0, row, new Region())
+                    .add(1, row, new Region());
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,38 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Starts the JavaFX toolkit on the Monocle headless platform, once per JVM.
+ * Benchmarks that only touch properties or plain nodes do not need it; controls and skins do.
+ */
+public final class Headless {
+
+    private static boolean started;
+
+    private Headless() {
+    }
+
+    public static synchronized void startup() {
+        if (started) {
+            return;
+        }
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+        System.setProperty("java.awt.headless", "true");
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting JavaFX toolkit", e);
+        }
+        Platform.setImplicitExit(false);
+        started = true;
+    }
+}
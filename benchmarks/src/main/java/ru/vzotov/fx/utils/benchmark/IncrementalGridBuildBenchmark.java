@@ -0,0 +1,99 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import javafx.application.Platform;
+import javafx.geometry.HPos;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.GridPaneBuilder;
+import ru.vzotov.fx.utils.IncrementalGridBuild;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Time to the first paint of a two-column form in a 400x400 scene, i.e. building it, applying CSS and laying it out,
+ * with {@link GridPaneBuilder#build()} and with {@link GridPaneBuilder#buildIncrementally(int)} adding the first
+ * 20 rows at once. Runs on the JavaFX Application Thread, where the incremental build continues on pulses;
+ * the measured build is cancelled right after its first paint.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IncrementalGridBuildBenchmark {
+
+    private static final int INITIAL_ROWS = 20;
+
+    @Param({"1000", "5000"})
+    public int rows;
+
+    @Setup
+    public void setUp() {
+        Headless.startup();
+    }
+
+    @Benchmark
+    public Parent build() throws Exception {
+        final GridPaneBuilder builder = form();
+        return onFxThread(() -> show(builder.build()));
+    }
+
+    @Benchmark
+    public Parent buildIncrementally() throws Exception {
+        final GridPaneBuilder builder = form();
+        return onFxThread(() -> {
+            final IncrementalGridBuild build = builder.buildIncrementally(INITIAL_ROWS);
+            show(build.getGrid());
+            build.cancel();
+            return build.getGrid();
+        });
+    }
+
+    private GridPaneBuilder form() {
+        final GridPaneBuilder builder = new GridPaneBuilder(4, 4)
+                .column().align(HPos.RIGHT).build()
+                .column().hgrow(Priority.ALWAYS).build();
+        for (int row = 0; row < rows; row++) {
+            builder.row().build()
+                    .add(0, row, cell(80))
+                    .add(1, row, cell(200));
+        }
+        return builder;
+    }
+
+    private static Region cell(double width) {
+        final Region cell = new Region();
+        cell.setPrefSize(width, 24);
+        return cell;
+    }
+
+    private static Parent show(Parent root) {
+        new Scene(root, 400, 400);
+        root.applyCss();
+        root.layout();
+        return root;
+    }
+
+    private static <T> T onFxThread(Supplier<T> action) throws InterruptedException, ExecutionException {
+        final FutureTask<T> task = new FutureTask<>(action::get);
+        Platform.runLater(task);
+        return task.get();
+    }
+}
@@ -0,0 +1,87 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import javafx.scene.layout.Region;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.LayoutUtils;
+import ru.vzotov.fx.utils.StyleSwitch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LayoutUtils#toggle} and {@link LayoutUtils#toggleWhen} on nodes carrying many style classes,
+ * as they are called from cell {@code updateItem} methods. The {@code toggleWhenSwitch} variants use a {@link StyleSwitch}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LayoutUtilsBenchmark {
+
+    public enum Status {NEW, ACTIVE, SUSPENDED, CLOSED}
+
+    private static final Status[] STATUSES = Status.values();
+
+    @Param({"4", "64"})
+    public int styleCount;
+
+    private final Map<String, Status> statusStyles = new LinkedHashMap<>();
+    private StyleSwitch<Status> statusSwitch;
+    private Region node;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        for (Status status : STATUSES) {
+            statusStyles.put("status-" + status.name().toLowerCase(), status);
+        }
+        statusSwitch = new StyleSwitch<>(statusStyles);
+        node = new Region();
+        for (int i = 0; i < styleCount; i++) {
+            node.getStyleClass().add("style-" + i);
+        }
+    }
+
+    @Benchmark
+    public Region toggle() {
+        return LayoutUtils.toggle(node, "selected-row", (index++ & 1) == 0);
+    }
+
+    @Benchmark
+    public Region toggleUnchanged() {
+        return LayoutUtils.toggle(node, "style-0", true);
+    }
+
+    @Benchmark
+    public Region toggleWhen() {
+        return LayoutUtils.toggleWhen(node, statusStyles, STATUSES[index++ & (STATUSES.length - 1)]);
+    }
+
+    @Benchmark
+    public Region toggleWhenUnchanged() {
+        return LayoutUtils.toggleWhen(node, statusStyles, Status.ACTIVE);
+    }
+
+    @Benchmark
+    public Region toggleWhenSwitch() {
+        return LayoutUtils.toggleWhen(node, statusSwitch, STATUSES[index++ & (STATUSES.length - 1)]);
+    }
+
+    @Benchmark
+    public Region toggleWhenSwitchUnchanged() {
+        return LayoutUtils.toggleWhen(node, statusSwitch, Status.ACTIVE);
+    }
+}
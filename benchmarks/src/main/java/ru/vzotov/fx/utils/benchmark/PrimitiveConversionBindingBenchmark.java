@@ -0,0 +1,57 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.ConversionBinding;
+import ru.vzotov.fx.utils.PrimitiveConversionBinding;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link IntegerProperty} bound to a {@link LongProperty}, through the generic {@link ConversionBinding}
+ * and through {@link PrimitiveConversionBinding}. Values are outside of the Integer/Long box caches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveConversionBindingBenchmark {
+
+    private final IntegerProperty boxedTarget = new SimpleIntegerProperty();
+    private final LongProperty boxedSource = new SimpleLongProperty();
+    private final IntegerProperty primitiveTarget = new SimpleIntegerProperty();
+    private final LongProperty primitiveSource = new SimpleLongProperty();
+    private long value = 1_000_000L;
+
+    @Setup
+    public void setUp() {
+        ConversionBinding.bind(boxedTarget, boxedSource, Number::longValue, Number::intValue);
+        PrimitiveConversionBinding.bind(primitiveTarget, primitiveSource, i -> i, l -> (int) l);
+    }
+
+    @Benchmark
+    public int boxed() {
+        boxedSource.set(++value);
+        return boxedTarget.get();
+    }
+
+    @Benchmark
+    public int primitive() {
+        primitiveSource.set(++value);
+        return primitiveTarget.get();
+    }
+}
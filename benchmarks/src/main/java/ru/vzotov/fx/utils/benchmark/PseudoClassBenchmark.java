@@ -0,0 +1,94 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import javafx.scene.Scene;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.LayoutUtils;
+import ru.vzotov.fx.utils.PseudoClassSwitch;
+import ru.vzotov.fx.utils.StyleSwitch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Switching the status of 200 cells of a scene and applying CSS, with status style classes
+ * through a {@link StyleSwitch} and with status pseudo classes through a {@link PseudoClassSwitch}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PseudoClassBenchmark {
+
+    private static final LayoutUtilsBenchmark.Status[] STATUSES = LayoutUtilsBenchmark.Status.values();
+    private static final int CELLS = 200;
+
+    private final VBox styleClassRoot = new VBox();
+    private final VBox pseudoClassRoot = new VBox();
+    private StyleSwitch<LayoutUtilsBenchmark.Status> styleSwitch;
+    private PseudoClassSwitch<LayoutUtilsBenchmark.Status> pseudoClassSwitch;
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        Headless.startup();
+        final Map<String, LayoutUtilsBenchmark.Status> styles = new LinkedHashMap<>();
+        final StringBuilder css = new StringBuilder();
+        for (LayoutUtilsBenchmark.Status status : STATUSES) {
+            final String name = "status-" + status.name().toLowerCase();
+            styles.put(name, status);
+            css.append(".cell.").append(name).append(" { -fx-background-color: #").append(status.ordinal()).append("0a0a0; }\n");
+            css.append(".cell:").append(name).append(" { -fx-background-color: #").append(status.ordinal()).append("0a0a0; }\n");
+        }
+        styleSwitch = new StyleSwitch<>(styles);
+        pseudoClassSwitch = PseudoClassSwitch.of(LayoutUtilsBenchmark.Status.class, "status-");
+
+        final Path stylesheet = Files.createTempFile("pseudo-class-benchmark", ".css");
+        stylesheet.toFile().deleteOnExit();
+        Files.writeString(stylesheet, css);
+        for (VBox root : new VBox[]{styleClassRoot, pseudoClassRoot}) {
+            for (int i = 0; i < CELLS; i++) {
+                root.getChildren().add(LayoutUtils.styled(new Region(), "cell"));
+            }
+            new Scene(root).getStylesheets().add(stylesheet.toUri().toString());
+            root.applyCss();
+        }
+    }
+
+    @Benchmark
+    public VBox styleClass() {
+        final LayoutUtilsBenchmark.Status status = STATUSES[index++ & (STATUSES.length - 1)];
+        for (int i = 0; i < CELLS; i++) {
+            styleSwitch.apply(styleClassRoot.getChildren().get(i), status);
+        }
+        styleClassRoot.applyCss();
+        return styleClassRoot;
+    }
+
+    @Benchmark
+    public VBox pseudoClass() {
+        final LayoutUtilsBenchmark.Status status = STATUSES[index++ & (STATUSES.length - 1)];
+        for (int i = 0; i < CELLS; i++) {
+            pseudoClassSwitch.apply(pseudoClassRoot.getChildren().get(i), status);
+        }
+        pseudoClassRoot.applyCss();
+        return pseudoClassRoot;
+    }
+}
@@ -0,0 +1,100 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import javafx.collections.ListChangeListener;
+import javafx.scene.layout.Region;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.LayoutUtils;
+import ru.vzotov.fx.utils.StyleClassEdit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Restyling a thousand cells with three style class changes each, through separate {@link LayoutUtils} calls
+ * and through one {@link StyleClassEdit}. The {@code changes} counter is the number of style class list changes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StyleClassEditBenchmark {
+
+    private static final int NODES = 1000;
+
+    private final Map<String, LayoutUtilsBenchmark.Status> statusStyles = new LinkedHashMap<>();
+    private final List<Region> nodes = new ArrayList<>();
+    private final StyleClassEdit[] edits = new StyleClassEdit[2];
+    private int index;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Changes {
+        public long changes;
+    }
+
+    private Changes counter;
+
+    @Setup
+    public void setUp() {
+        for (LayoutUtilsBenchmark.Status status : LayoutUtilsBenchmark.Status.values()) {
+            statusStyles.put("status-" + status.name().toLowerCase(), status);
+        }
+        for (int i = 0; i < NODES; i++) {
+            final Region node = LayoutUtils.styled(new Region(), "table-cell", "stale");
+            node.getStyleClass().addListener((ListChangeListener<String>) c -> {
+                if (counter != null) {
+                    counter.changes++;
+                }
+            });
+            nodes.add(node);
+        }
+        for (int i = 0; i < edits.length; i++) {
+            edits[i] = new StyleClassEdit()
+                    .toggle("selected-row", i == 0)
+                    .toggleWhen(statusStyles, i == 0 ? LayoutUtilsBenchmark.Status.ACTIVE : LayoutUtilsBenchmark.Status.CLOSED)
+                    .remove("stale");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounter(Changes changes) {
+        this.counter = changes;
+    }
+
+    @Benchmark
+    public int separate() {
+        final boolean first = (index++ & 1) == 0;
+        for (Region node : nodes) {
+            LayoutUtils.toggle(node, "selected-row", first);
+            LayoutUtils.toggleWhen(node, statusStyles, first ? LayoutUtilsBenchmark.Status.ACTIVE : LayoutUtilsBenchmark.Status.CLOSED);
+            LayoutUtils.toggle(node, "stale", false);
+        }
+        return nodes.size();
+    }
+
+    @Benchmark
+    public int batched() {
+        return LayoutUtils.restyleAll(nodes, edits[index++ & 1]);
+    }
+
+    @Benchmark
+    public int batchedUnchanged() {
+        return LayoutUtils.restyleAll(nodes, edits[0]);
+    }
+}
@@ -0,0 +1,87 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.TypeAheadIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Type-ahead filtering of a catalog: a predicate over the full list per keystroke, as done by hand today,
+ * against {@link TypeAheadIndex} searches, from scratch and narrowed from the previous keystroke.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TypeAheadIndexBenchmark {
+
+    public static final class Product {
+        private final String code;
+        private final String name;
+
+        Product(String code, String name) {
+            this.code = code;
+            this.name = name;
+        }
+    }
+
+    private static final Function<Product, String> TO_STRING = p -> p.code + " " + p.name;
+
+    @Param({"100000"})
+    public int size;
+
+    private final List<Product> items = new ArrayList<>();
+    private TypeAheadIndex<Product> index;
+    private int[] previousMatches;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            items.add(new Product(Integer.toString(random.nextInt(1 << 24), 36), "product " + i));
+        }
+        index = TypeAheadIndex.build(items, TO_STRING);
+        previousMatches = index.search("duct 12", null, () -> false);
+    }
+
+    @Benchmark
+    public List<Product> predicate() {
+        final String query = "duct 123".toLowerCase(Locale.ROOT);
+        return items.stream()
+                .filter(p -> TO_STRING.apply(p).toLowerCase(Locale.ROOT).contains(query))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int[] index() {
+        return index.search("duct 123", null, () -> false);
+    }
+
+    @Benchmark
+    public int[] indexNarrowed() {
+        return index.search("duct 123", previousMatches, () -> false);
+    }
+
+    @Benchmark
+    public TypeAheadIndex<Product> build() {
+        return TypeAheadIndex.build(items, TO_STRING);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import javafx.util.converter.IntegerStringConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.ValueTextField;
+import ru.vzotov.fx.utils.ValueTextFieldSkin;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text to value parsing in {@link ValueTextFieldSkin}, one operation per simulated keystroke.
+ * The field is not attached to a scene, so it is safe to drive it from the benchmark thread.
+ * The trial fails unless every keystroke cost exactly one parse and no format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValueTextFieldSkinBenchmark {
+
+    /**
+     * Typing "1234567" and erasing it again, one character at a time
+     */
+    private static final String[] KEYSTROKES = {
+            "1", "12", "123", "1234", "12345", "123456", "1234567",
+            "123456", "12345", "1234", "123", "12", "1", ""
+    };
+
+    private ValueTextField<Integer> field;
+    private ValueTextFieldSkin<Integer, ValueTextField<Integer>> skin;
+    private int index;
+    private long keystrokes;
+
+    @Setup
+    public void setUp() {
+        Headless.startup();
+        field = new ValueTextField<>();
+        field.setConverter(new IntegerStringConverter());
+        skin = new ValueTextFieldSkin<>(field);
+        field.setSkin(skin);
+    }
+
+    @Benchmark
+    public Integer keystroke() {
+        field.setText(KEYSTROKES[index]);
+        index = (index + 1) % KEYSTROKES.length;
+        keystrokes++;
+        return field.getValue();
+    }
+
+    @TearDown
+    public void checkConverterCalls() {
+        // the empty text is not parsed
+        final long expectedParses = keystrokes - keystrokes / KEYSTROKES.length;
+        if (skin.getParseCount() != expectedParses || skin.getFormatCount() != 0) {
+            throw new IllegalStateException("Unexpected converter calls for " + keystrokes + " keystrokes: "
+                    + skin.getParseCount() + " parses, " + skin.getFormatCount() + " formats");
+        }
+    }
+}
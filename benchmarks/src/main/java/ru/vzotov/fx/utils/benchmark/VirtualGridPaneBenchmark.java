@@ -0,0 +1,117 @@
+package ru.vzotov.fx.utils.benchmark;
+
+import javafx.geometry.HPos;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.vzotov.fx.utils.GridPaneBuilder;
+import ru.vzotov.fx.utils.VirtualGridPane;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opening a two-column form in a 400x400 scene, i.e. creating it, applying CSS and laying it out,
+ * with all rows in a {@link javafx.scene.layout.GridPane} and with a {@link VirtualGridPane},
+ * and scrolling the virtual form by three rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VirtualGridPaneBenchmark {
+
+    private static final double ROW_HEIGHT = 24;
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private VirtualGridPane scrolled;
+    private int page;
+
+    @Setup
+    public void setUp() {
+        Headless.startup();
+        scrolled = virtualGrid();
+        show(scrolled);
+    }
+
+    @Benchmark
+    public Parent build() {
+        final GridPaneBuilder builder = columns();
+        for (int row = 0; row < rows; row++) {
+            builder.row().build()
+                    .add(0, row, cell(80))
+                    .add(1, row, cell(200));
+        }
+        return show(builder.build());
+    }
+
+    @Benchmark
+    public Parent virtual() {
+        return show(virtualGrid());
+    }
+
+    @Benchmark
+    public Parent scroll() {
+        scrolled.scrollTo((page++ * 3) % rows);
+        scrolled.layout();
+        return scrolled;
+    }
+
+    private VirtualGridPane virtualGrid() {
+        final VirtualGridPane grid = columns().virtual(() -> new FormRow(cell(80), cell(200)));
+        grid.setRowCount(rows);
+        return grid;
+    }
+
+    private static GridPaneBuilder columns() {
+        return new GridPaneBuilder(4, 4)
+                .column().align(HPos.RIGHT).build()
+                .column().hgrow(Priority.ALWAYS).build();
+    }
+
+    private static Region cell(double width) {
+        final Region cell = new Region();
+        cell.setPrefSize(width, ROW_HEIGHT);
+        return cell;
+    }
+
+    private static Parent show(Parent root) {
+        new Scene(root, 400, 400);
+        root.applyCss();
+        root.layout();
+        return root;
+    }
+
+    private static final class FormRow extends VirtualGridPane.Row {
+
+        private final Region label;
+        private final Region editor;
+
+        FormRow(Region label, Region editor) {
+            super(label, editor);
+            this.label = label;
+            this.editor = editor;
+        }
+
+        @Override
+        protected void updateIndex(int index) {
+            label.setUserData(index);
+            editor.setUserData(index);
+        }
+    }
+}
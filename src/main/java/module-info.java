@@ -1,5 +1,7 @@
 module ru.vzotov.fx.utils {
     requires javafx.controls;
     requires org.slf4j;
+    requires static jdk.jfr;
     exports ru.vzotov.fx.utils;
+    uses ru.vzotov.fx.utils.FxMetrics;
 }
@@ -0,0 +1,260 @@
+package ru.vzotov.fx.utils;
+
+import javafx.application.Platform;
+import javafx.beans.WeakListener;
+import javafx.beans.property.Property;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Bidirectional conversion binding that runs the conversion functions off the JavaFX Application Thread.
+ * It behaves like {@link ConversionBinding}, but is meant for expensive converters (locale-aware parsing,
+ * big decimals, lookups) that would otherwise cause dropped frames.
+ * <p>
+ * Every change of either property starts a new conversion on the executor and supersedes the previous one:
+ * a conversion that has not started yet is cancelled, or skips the converter if it was already taken by a thread,
+ * and the result of a conversion that has already started is discarded, because its sequence number is no longer the latest.
+ * Results are applied on the JavaFX Application Thread with {@link Platform#runLater(Runnable)}.
+ * While a conversion is in flight, {@link #pendingProperty()} is {@code true}.
+ * <p>
+ * Both properties must only be changed on the JavaFX Application Thread. The converters must be thread-safe.
+ *
+ * @param <U> the type of the target property in the conversion binding.
+ * @param <V> the type of the source property in the conversion binding.
+ */
+public class AsyncConversionBinding<U, V> implements ChangeListener<Object>, WeakListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncConversionBinding.class);
+
+    private static void checkParameters(Object property1, Object property2) {
+        if ((property1 == null) || (property2 == null)) {
+            throw new NullPointerException("Both properties must be specified.");
+        }
+        if (property1 == property2) {
+            throw new IllegalArgumentException("Cannot bind property to itself");
+        }
+    }
+
+    /**
+     * Binds a target property to a source property with conversion functions executed in background.
+     * The conversions run on a shared pool of daemon threads.
+     * The target receives the converted value of the source once the first conversion completes.
+     *
+     * @param target   The target property to bind. Must not be null.
+     * @param source   The source property to bind. Must not be null.
+     * @param toSource The function to convert a value of type U to a value of type V. Must not be null.
+     * @param toTarget The function to convert a value of type V to a value of type U. Must not be null.
+     * @param <U>      The type of the target property.
+     * @param <V>      The type of the source property.
+     * @return A new AsyncConversionBinding instance that binds the target property to the source property.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the target and source are the same property.
+     */
+    public static <U, V> AsyncConversionBinding<U, V> bind(Property<U> target, Property<V> source, Function<U, V> toSource, Function<V, U> toTarget) {
+        return bind(target, source, toSource, toTarget, BackgroundExecutor.get());
+    }
+
+    /**
+     * Binds a target property to a source property with conversion functions executed by the given executor.
+     * The target receives the converted value of the source once the first conversion completes.
+     *
+     * @param target   The target property to bind. Must not be null.
+     * @param source   The source property to bind. Must not be null.
+     * @param toSource The function to convert a value of type U to a value of type V. Must not be null.
+     * @param toTarget The function to convert a value of type V to a value of type U. Must not be null.
+     * @param executor The executor to run conversions on. Must not be null.
+     * @param <U>      The type of the target property.
+     * @param <V>      The type of the source property.
+     * @return A new AsyncConversionBinding instance that binds the target property to the source property.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the target and source are the same property.
+     */
+    public static <U, V> AsyncConversionBinding<U, V> bind(Property<U> target, Property<V> source, Function<U, V> toSource, Function<V, U> toTarget, Executor executor) {
+        checkParameters(target, source);
+        Objects.requireNonNull(toSource);
+        Objects.requireNonNull(toTarget);
+        Objects.requireNonNull(executor);
+        final AsyncConversionBinding<U, V> binding = new AsyncConversionBinding<>(target, source, toSource, toTarget, executor);
+        binding.convert(source.getValue(), toTarget, false);
+        target.addListener(binding);
+        source.addListener(binding);
+        return binding;
+    }
+
+    private final int cachedHashCode;
+    private final WeakReference<Property<U>> targetPropertyRef;
+    private final WeakReference<Property<V>> sourcePropertyRef;
+    private boolean updating;
+    private final Function<U, V> toSource;
+    private final Function<V, U> toTarget;
+    private final Executor executor;
+    private volatile long sequence;
+    private CompletableFuture<?> inFlight;
+
+    private AsyncConversionBinding(Property<U> target, Property<V> source, Function<U, V> toSource, Function<V, U> toTarget, Executor executor) {
+        this.toSource = toSource;
+        this.toTarget = toTarget;
+        this.executor = executor;
+        cachedHashCode = target.hashCode() * source.hashCode();
+        targetPropertyRef = new WeakReference<>(target);
+        sourcePropertyRef = new WeakReference<>(source);
+    }
+
+    protected Object getTarget() {
+        return targetPropertyRef.get();
+    }
+
+    protected Object getSource() {
+        return sourcePropertyRef.get();
+    }
+
+    // pending
+
+    private final ReadOnlyBooleanWrapper pending = new ReadOnlyBooleanWrapper(this, "pending", false);
+
+    /**
+     * Indicates that a conversion is in flight and one of the properties is about to be updated.
+     *
+     * @return the pending property
+     */
+    public ReadOnlyBooleanProperty pendingProperty() {
+        return pending.getReadOnlyProperty();
+    }
+
+    public boolean isPending() {
+        return pending.get();
+    }
+
+    @Override
+    public int hashCode() {
+        return cachedHashCode;
+    }
+
+    @Override
+    public boolean wasGarbageCollected() {
+        return (getTarget() == null) || (getSource() == null);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        final Object propertyA1 = getTarget();
+        final Object propertyA2 = getSource();
+        if ((propertyA1 == null) || (propertyA2 == null)) {
+            return false;
+        }
+
+        if (obj instanceof final AsyncConversionBinding<?, ?> otherBinding) {
+            final Object propertyB1 = otherBinding.getTarget();
+            final Object propertyB2 = otherBinding.getSource();
+            if ((propertyB1 == null) || (propertyB2 == null)) {
+                return false;
+            }
+
+            if (propertyA1 == propertyB1 && propertyA2 == propertyB2) {
+                return true;
+            }
+            if (propertyA1 == propertyB2 && propertyA2 == propertyB1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void changed(ObservableValue<?> observable, Object oldValue, Object newValue) {
+        if (!updating) {
+            final Property<U> target = targetPropertyRef.get();
+            final Property<V> source = sourcePropertyRef.get();
+            if ((target == null) || (source == null)) {
+                dispose(target, source);
+            } else if (target == observable) {
+                convert(target.getValue(), toSource, true);
+            } else {
+                convert(source.getValue(), toTarget, false);
+            }
+        }
+    }
+
+    private <A, B> void convert(A value, Function<A, B> converter, boolean toSourceProperty) {
+        final long seq = ++sequence;
+        if (inFlight != null) {
+            inFlight.cancel(false);
+        }
+        pending.set(true);
+        final CompletableFuture<B> conversion = CompletableFuture.supplyAsync(() -> {
+            if (seq != sequence) {
+                // superseded while queued, the converter need not run
+                throw new CancellationException();
+            }
+            return converter.apply(value);
+        }, executor);
+        conversion.whenComplete((result, error) -> {
+            if (seq == sequence) {
+                Platform.runLater(() -> publish(seq, result, error, toSourceProperty));
+            }
+        });
+        inFlight = conversion;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publish(long seq, Object result, Throwable error, boolean toSourceProperty) {
+        if (seq != sequence) {
+            // superseded by a newer change
+            return;
+        }
+        inFlight = null;
+
+        final Property<U> target = targetPropertyRef.get();
+        final Property<V> source = sourcePropertyRef.get();
+        if ((target == null) || (source == null)) {
+            dispose(target, source);
+            return;
+        }
+        try {
+            updating = true;
+            if (toSourceProperty) {
+                if (error != null) {
+                    log.debug("Exception while parsing String in asynchronous binding", error);
+                }
+                source.setValue(error == null ? (V) result : null);
+            } else {
+                if (error != null) {
+                    log.debug("Exception while converting Object to String in asynchronous binding", error);
+                }
+                target.setValue(error == null ? (U) result : null);
+            }
+        } finally {
+            updating = false;
+            pending.set(false);
+        }
+    }
+
+    private void dispose(Property<U> target, Property<V> source) {
+        if (target != null) {
+            target.removeListener(this);
+        }
+        if (source != null) {
+            source.removeListener(this);
+        }
+        if (inFlight != null) {
+            inFlight.cancel(false);
+            inFlight = null;
+        }
+        pending.set(false);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.vzotov.fx.utils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared executor for work that fx-utils moves off the JavaFX Application Thread.
+ * Threads are daemons, so they never keep the application alive, and idle threads are released.
+ * The pool is bounded by the number of processors, the work being CPU-bound conversions, parsing and decoding:
+ * a burst of tasks, e.g. a conversion per keystroke, is queued instead of starting a thread per task,
+ * and queued tasks that were superseded meanwhile are cancelled or skip their work.
+ */
+final class BackgroundExecutor {
+
+    private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private static ExecutorService createExecutor() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                final Thread thread = new Thread(r, "fx-utils-background-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private BackgroundExecutor() {
+    }
+
+    static Executor get() {
+        return EXECUTOR;
+    }
+}
@@ -0,0 +1,291 @@
+package ru.vzotov.fx.utils;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import javafx.collections.WeakListChangeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Observable list of the points of a source list rolled up into buckets. Each source point falls into the bucket
+ * given by the key function of its x, e.g. the minute of a timestamp. The list has one point per non-empty bucket,
+ * in key order, with the bucket key as its x and the {@link Aggregate aggregate} of the bucket's values as its value.
+ * <p>
+ * The list listens to its source and only updates the buckets of the added, removed and updated points, firing
+ * a single change event per source change. Updates of the values of source points are seen when the source reports
+ * them, like a {@link DataSeries} or a list with an extractor does. Removing or changing the point that holds the
+ * minimum or maximum of a bucket rescans that bucket.
+ * <p>
+ * The list must be used on the thread that modifies the source.
+ *
+ * @param <X> the type of the x-keys of the source
+ * @param <K> the type of the bucket keys
+ * @param <N> the type of the nodes
+ */
+public class BucketAggregation<X, K extends Comparable<? super K>, N> extends ObservableListBase<Data<K, N>> {
+
+    public enum Aggregate {
+        SUM, MIN, MAX, AVG, COUNT
+    }
+
+    private static final Comparator<Bucket<?, ?>> BY_KEY = (a, b) -> compareKeys(a.key, b.key);
+
+    private final ObservableList<? extends Data<X, N>> source;
+    private final Function<? super X, ? extends K> bucketKey;
+    private final Aggregate aggregate;
+    private final boolean trackExtrema;
+
+    private final Map<K, Bucket<K, N>> buckets = new HashMap<>();
+    private final List<Bucket<K, N>> sorted = new ArrayList<>();
+
+    /**
+     * Bucket and value of each source point, as last seen
+     */
+    private Object[] pointBuckets = new Object[16];
+    private double[] pointValues = new double[16];
+    private int pointCount;
+
+    private final ListChangeListener<Data<X, N>> sourceListener = this::sourceChanged;
+
+    /**
+     * @param source    the points to aggregate
+     * @param bucketKey the function giving the bucket key of an x-key
+     * @param aggregate the aggregate function of the buckets
+     */
+    @SuppressWarnings("unchecked")
+    public BucketAggregation(ObservableList<? extends Data<X, N>> source, Function<? super X, ? extends K> bucketKey, Aggregate aggregate) {
+        this.source = Objects.requireNonNull(source);
+        this.bucketKey = Objects.requireNonNull(bucketKey);
+        this.aggregate = Objects.requireNonNull(aggregate);
+        this.trackExtrema = aggregate == Aggregate.MIN || aggregate == Aggregate.MAX;
+        ((ObservableList<Data<X, N>>) source).addListener(new WeakListChangeListener<>(sourceListener));
+
+        final Set<Bucket<K, N>> touched = new LinkedHashSet<>();
+        insertPoints(0, source.size(), touched);
+        for (Bucket<K, N> bucket : touched) {
+            bucket.data.setValue(bucket.value(aggregate));
+            sorted.add(bucket);
+        }
+        sorted.sort(BY_KEY);
+    }
+
+    public Aggregate getAggregate() {
+        return aggregate;
+    }
+
+    @Override
+    public Data<K, N> get(int index) {
+        return sorted.get(index).data;
+    }
+
+    @Override
+    public int size() {
+        return sorted.size();
+    }
+
+    private void sourceChanged(ListChangeListener.Change<? extends Data<X, N>> c) {
+        final Set<Bucket<K, N>> touched = new LinkedHashSet<>();
+        while (c.next()) {
+            if (c.wasPermutated()) {
+                permutePoints(c);
+            } else if (c.wasUpdated()) {
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    updatePoint(i, touched);
+                }
+            } else {
+                if (c.wasRemoved()) {
+                    removePoints(c.getFrom(), c.getRemovedSize(), touched);
+                }
+                if (c.wasAdded()) {
+                    insertPoints(c.getFrom(), c.getAddedSize(), touched);
+                }
+            }
+        }
+        publish(touched);
+    }
+
+    private void publish(Set<Bucket<K, N>> touched) {
+        if (touched.isEmpty()) {
+            return;
+        }
+        beginChange();
+        for (Bucket<K, N> bucket : touched) {
+            final int index = Collections.binarySearch(sorted, bucket, BY_KEY);
+            if (bucket.count == 0) {
+                buckets.remove(bucket.key);
+                if (index >= 0) {
+                    sorted.remove(index);
+                    nextRemove(index, bucket.data);
+                }
+            } else if (index < 0) {
+                bucket.data.setValue(bucket.value(aggregate));
+                sorted.add(-index - 1, bucket);
+                nextAdd(-index - 1, -index);
+            } else {
+                final double value = bucket.value(aggregate);
+                if (Double.compare(value, bucket.data.getValue()) != 0) {
+                    bucket.data.setValue(value);
+                    nextUpdate(index);
+                }
+            }
+        }
+        endChange();
+    }
+
+    private Bucket<K, N> bucket(X x) {
+        final K key = bucketKey.apply(x);
+        return buckets.computeIfAbsent(key, k -> new Bucket<>(k, trackExtrema));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Bucket<K, N> pointBucket(int index) {
+        return (Bucket<K, N>) pointBuckets[index];
+    }
+
+    private void insertPoints(int from, int count, Set<Bucket<K, N>> touched) {
+        if (pointCount + count > pointBuckets.length) {
+            final int capacity = Math.max(pointCount + count, pointBuckets.length * 2);
+            pointBuckets = Arrays.copyOf(pointBuckets, capacity);
+            pointValues = Arrays.copyOf(pointValues, capacity);
+        }
+        System.arraycopy(pointBuckets, from, pointBuckets, from + count, pointCount - from);
+        System.arraycopy(pointValues, from, pointValues, from + count, pointCount - from);
+        pointCount += count;
+        for (int i = from; i < from + count; i++) {
+            final Bucket<K, N> bucket = bucket(DataPoints.x(source, i));
+            final double value = DataPoints.value(source, i);
+            bucket.add(value);
+            pointBuckets[i] = bucket;
+            pointValues[i] = value;
+            touched.add(bucket);
+        }
+    }
+
+    private void removePoints(int from, int count, Set<Bucket<K, N>> touched) {
+        for (int i = from; i < from + count; i++) {
+            final Bucket<K, N> bucket = pointBucket(i);
+            bucket.remove(pointValues[i]);
+            touched.add(bucket);
+        }
+        System.arraycopy(pointBuckets, from + count, pointBuckets, from, pointCount - from - count);
+        System.arraycopy(pointValues, from + count, pointValues, from, pointCount - from - count);
+        pointCount -= count;
+        Arrays.fill(pointBuckets, pointCount, pointCount + count, null);
+    }
+
+    private void updatePoint(int index, Set<Bucket<K, N>> touched) {
+        final Bucket<K, N> previous = pointBucket(index);
+        final double previousValue = pointValues[index];
+        final Bucket<K, N> bucket = bucket(DataPoints.x(source, index));
+        final double value = DataPoints.value(source, index);
+        if (bucket == previous && Double.compare(value, previousValue) == 0) {
+            return;
+        }
+        previous.remove(previousValue);
+        bucket.add(value);
+        pointBuckets[index] = bucket;
+        pointValues[index] = value;
+        touched.add(previous);
+        touched.add(bucket);
+    }
+
+    private void permutePoints(ListChangeListener.Change<?> c) {
+        final int from = c.getFrom();
+        final Object[] permutedBuckets = Arrays.copyOfRange(pointBuckets, from, c.getTo());
+        final double[] permutedValues = Arrays.copyOfRange(pointValues, from, c.getTo());
+        for (int i = from; i < c.getTo(); i++) {
+            pointBuckets[c.getPermutation(i)] = permutedBuckets[i - from];
+            pointValues[c.getPermutation(i)] = permutedValues[i - from];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareKeys(Object a, Object b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    private static final class Bucket<K, N> {
+        private final K key;
+        private final Data<K, N> data;
+        private int count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        /**
+         * Values of the points, kept only for the minimum and maximum, to rescan them when an extremum is removed
+         */
+        private double[] values;
+        private boolean extremaStale;
+
+        Bucket(K key, boolean trackExtrema) {
+            this.key = key;
+            this.data = new Data<>(key, 0);
+            this.values = trackExtrema ? new double[4] : null;
+        }
+
+        void add(double value) {
+            if (count == 0) {
+                sum = 0;
+            }
+            count++;
+            sum += value;
+            if (values != null) {
+                if (count > values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count - 1] = value;
+                if (!extremaStale) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+        }
+
+        void remove(double value) {
+            count--;
+            sum -= value;
+            if (values != null) {
+                for (int i = 0; i <= count; i++) {
+                    if (Double.compare(values[i], value) == 0) {
+                        values[i] = values[count];
+                        break;
+                    }
+                }
+                if (Double.compare(value, min) == 0 || Double.compare(value, max) == 0) {
+                    extremaStale = true;
+                }
+            }
+        }
+
+        double value(Aggregate aggregate) {
+            if (extremaStale) {
+                min = Double.POSITIVE_INFINITY;
+                max = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < count; i++) {
+                    min = Math.min(min, values[i]);
+                    max = Math.max(max, values[i]);
+                }
+                extremaStale = false;
+            }
+            return switch (aggregate) {
+                case SUM -> sum;
+                case MIN -> min;
+                case MAX -> max;
+                case AVG -> count == 0 ? Double.NaN : sum / count;
+                case COUNT -> count;
+            };
+        }
+    }
+}
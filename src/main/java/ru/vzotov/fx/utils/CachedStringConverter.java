@@ -0,0 +1,59 @@
+package ru.vzotov.fx.utils;
+
+import javafx.util.StringConverter;
+
+import java.util.Objects;
+
+/**
+ * {@link StringConverter} that memoizes both directions of another converter in {@link ConversionCache}s.
+ * One instance can be shared by many {@link ValueTextField}s, {@link CustomComboBox}es or cells
+ * that use the same conversion, so they reuse each other's results.
+ *
+ * @param <T> the type of the converted values.
+ */
+public class CachedStringConverter<T> extends StringConverter<T> {
+
+    private final ConversionCache<T, String> toStringCache;
+    private final ConversionCache<String, T> fromStringCache;
+
+    /**
+     * Creates a converter caching up to {@code maxSize} results in each direction.
+     *
+     * @param converter The converter to memoize. Must not be null.
+     * @param maxSize   The maximum number of cached results per direction. Must be positive.
+     */
+    public CachedStringConverter(StringConverter<T> converter, int maxSize) {
+        Objects.requireNonNull(converter);
+        this.toStringCache = new ConversionCache<>(converter::toString, maxSize);
+        this.fromStringCache = new ConversionCache<>(converter::fromString, maxSize);
+    }
+
+    /**
+     * Creates a converter with caller-supplied caches, e.g. weighted by string length.
+     *
+     * @param toStringCache   The cache of {@link #toString(Object)} results. Must not be null.
+     * @param fromStringCache The cache of {@link #fromString(String)} results. Must not be null.
+     */
+    public CachedStringConverter(ConversionCache<T, String> toStringCache, ConversionCache<String, T> fromStringCache) {
+        this.toStringCache = Objects.requireNonNull(toStringCache);
+        this.fromStringCache = Objects.requireNonNull(fromStringCache);
+    }
+
+    @Override
+    public String toString(T object) {
+        return toStringCache.apply(object);
+    }
+
+    @Override
+    public T fromString(String string) {
+        return fromStringCache.apply(string);
+    }
+
+    public ConversionCache<T, String> toStringCache() {
+        return toStringCache;
+    }
+
+    public ConversionCache<String, T> fromStringCache() {
+        return fromStringCache;
+    }
+}
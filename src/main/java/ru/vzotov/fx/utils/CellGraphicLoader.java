@@ -0,0 +1,254 @@
+package ru.vzotov.fx.utils;
+
+import javafx.application.Platform;
+import javafx.css.PseudoClass;
+import javafx.scene.Node;
+import javafx.scene.control.Cell;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Loads the images shown by cells, e.g. thumbnails and icons decoded from files, off the JavaFX Application Thread.
+ * A cell asks for its graphic with {@link #graphic(Cell, Object)} on every update and passes it to
+ * {@link CellUtils#updateItem(Cell, javafx.util.StringConverter, javafx.scene.layout.HBox, Node, javafx.scene.control.TextField)}.
+ * The graphic is an image view owned by the cell: it shows the decoded image at once if it is cached,
+ * otherwise the placeholder, with the {@code :loading} pseudo class, until the image is decoded.
+ * <p>
+ * Images are decoded on a background executor, once per key even if several cells show it,
+ * and kept in a cache of the most recently used images shared by all cells. When a cell is reused for another key
+ * before its image arrives, the cell stops waiting, and the decoding is cancelled if no other cell waits for it.
+ * Decoding failures are logged and not cached, the cell keeps the placeholder.
+ * <p>
+ * The loader must be used on the JavaFX Application Thread. The decoder must be thread-safe.
+ *
+ * @param <K> the type of the keys of the images, e.g. paths
+ */
+public class CellGraphicLoader<K> {
+
+    private static final Logger log = LoggerFactory.getLogger(CellGraphicLoader.class);
+
+    private static final PseudoClass LOADING = PseudoClass.getPseudoClass("loading");
+
+    private final Function<? super K, ? extends Image> decoder;
+    private final Image placeholder;
+    private final int maxImages;
+    private final Executor executor;
+    private final LinkedHashMap<K, Image> images;
+    private final Map<K, Load> loads = new HashMap<>();
+    private long hitCount;
+    private long loadCount;
+    private long cancelCount;
+
+    /**
+     * Creates a loader decoding on a shared pool of daemon threads.
+     *
+     * @param decoder     the function decoding the image of a key. Must not be null.
+     * @param placeholder the image shown while loading, or null to show nothing
+     * @param maxImages   the maximum number of cached images. Must be positive.
+     */
+    public CellGraphicLoader(Function<? super K, ? extends Image> decoder, Image placeholder, int maxImages) {
+        this(decoder, placeholder, maxImages, BackgroundExecutor.get());
+    }
+
+    /**
+     * @param decoder     the function decoding the image of a key. Must not be null.
+     * @param placeholder the image shown while loading, or null to show nothing
+     * @param maxImages   the maximum number of cached images. Must be positive.
+     * @param executor    the executor to decode on. Must not be null.
+     */
+    public CellGraphicLoader(Function<? super K, ? extends Image> decoder, Image placeholder, int maxImages, Executor executor) {
+        this.decoder = Objects.requireNonNull(decoder);
+        this.executor = Objects.requireNonNull(executor);
+        if (maxImages <= 0) {
+            throw new IllegalArgumentException("Maximum number of images must be positive");
+        }
+        this.placeholder = placeholder;
+        this.maxImages = maxImages;
+        this.images = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Image> eldest) {
+                return size() > CellGraphicLoader.this.maxImages;
+            }
+        };
+    }
+
+    /**
+     * Returns the graphic of the cell showing the image of the key, decoding it if needed.
+     *
+     * @param cell the cell being updated
+     * @param key  the key of the image, or null if the cell shows no image
+     * @return the image view of the cell, or null if the key is null
+     */
+    public Node graphic(Cell<?> cell, K key) {
+        // the cell keeps the slot under this loader, so it is a slot of this loader
+        @SuppressWarnings("unchecked") Slot slot = (Slot) cell.getProperties().get(this);
+        if (key == null) {
+            if (slot != null) {
+                slot.show(null, null);
+            }
+            return null;
+        }
+        if (slot == null) {
+            slot = new Slot();
+            cell.getProperties().put(this, slot);
+        }
+        if (!key.equals(slot.key)) {
+            final Image image = images.get(key);
+            if (image != null) {
+                hitCount++;
+                slot.show(key, image);
+            } else {
+                slot.show(key, placeholder);
+                slot.await(load(key));
+            }
+        }
+        return slot.view;
+    }
+
+    private Load load(K key) {
+        Load load = loads.get(key);
+        if (load == null) {
+            loadCount++;
+            final Load created = new Load(key);
+            created.future = CompletableFuture.supplyAsync(() -> decoder.apply(key), executor);
+            created.future.whenComplete((image, error) -> {
+                // a cancelled load has no cells waiting for it, so scrolling fast does not flood the event queue
+                if (!created.future.isCancelled()) {
+                    Platform.runLater(() -> created.publish(image, error));
+                }
+            });
+            loads.put(key, created);
+            load = created;
+        }
+        return load;
+    }
+
+    /**
+     * Removes all cached images. Cells keep the images they show.
+     */
+    public void clear() {
+        images.clear();
+    }
+
+    public int size() {
+        return images.size();
+    }
+
+    /**
+     * @return the number of graphics served from the cache
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of started decodings
+     */
+    public long loadCount() {
+        return loadCount;
+    }
+
+    /**
+     * @return the number of decodings cancelled because no cell waited for them anymore
+     */
+    public long cancelCount() {
+        return cancelCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CellGraphicLoader{" +
+                "size=" + images.size() +
+                ", loading=" + loads.size() +
+                ", hits=" + hitCount +
+                ", loads=" + loadCount +
+                ", cancelled=" + cancelCount +
+                '}';
+    }
+
+    /**
+     * Decoding of the image of a key, with the cells waiting for it
+     */
+    private final class Load {
+        private final K key;
+        private final List<Slot> waiting = new ArrayList<>(1);
+        private CompletableFuture<Image> future;
+
+        Load(K key) {
+            this.key = key;
+        }
+
+        void leave(Slot slot) {
+            waiting.remove(slot);
+            if (waiting.isEmpty() && loads.get(key) == this) {
+                loads.remove(key);
+                if (future.cancel(false)) {
+                    cancelCount++;
+                }
+            }
+        }
+
+        void publish(Image image, Throwable error) {
+            if (loads.get(key) == this) {
+                loads.remove(key);
+            }
+            if (error != null || image == null || image.isError()) {
+                log.debug("Exception while decoding cell graphic {}", key,
+                        error != null || image == null ? error : image.getException());
+                for (Slot slot : waiting) {
+                    slot.load = null;
+                    slot.view.pseudoClassStateChanged(LOADING, false);
+                }
+                return;
+            }
+            // an image decoded just before its load was cancelled is still worth keeping
+            images.put(key, image);
+            for (Slot slot : waiting) {
+                slot.load = null;
+                slot.show(key, image);
+            }
+        }
+    }
+
+    /**
+     * Image view of a cell, with the load it waits for
+     */
+    private final class Slot {
+        private final ImageView view = new ImageView();
+        private K key;
+        private Load load;
+
+        Slot() {
+            view.getStyleClass().add("cell-graphic");
+        }
+
+        void show(K key, Image image) {
+            if (load != null) {
+                final Load left = load;
+                load = null;
+                left.leave(this);
+            }
+            this.key = key;
+            view.setImage(image);
+            view.pseudoClassStateChanged(LOADING, false);
+        }
+
+        void await(Load load) {
+            this.load = load;
+            load.waiting.add(this);
+            view.pseudoClassStateChanged(LOADING, true);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package ru.vzotov.fx.utils;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+import javafx.util.StringConverter;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@link StringConverter} for cells that keeps the text of the items they render, so that scrolling back and forth
+ * over the same items does not format them again. Pass it as the converter of
+ * {@link CellUtils#updateItem}, {@link CellUtils#startEdit} and {@link CellUtils#cancelEdit}.
+ * <p>
+ * Unlike {@link CachedStringConverter}, the texts are kept by item identity and the items are weakly referenced:
+ * items may be mutable and need not implement {@code equals}, and items removed from the view are not kept alive.
+ * The text of an item that changed must be {@link #invalidate(Object) invalidated}, or the cache can
+ * {@link #invalidateOn(ObservableList) listen} to the list of the items, e.g. one with an extractor, whose update,
+ * replace and remove changes invalidate the items. The cache keeps the most recently used texts up to its maximum size.
+ * <p>
+ * The cache must be used on the JavaFX Application Thread only.
+ *
+ * @param <T> the type of the items
+ */
+public class CellTextCache<T> extends StringConverter<T> {
+
+    private final StringConverter<T> converter;
+    private final int maxSize;
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    private final LinkedHashMap<Key, String> entries;
+    private final Probe probe = new Probe();
+    private final ListChangeListener<T> itemsListener = this::itemsChanged;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * @param converter the converter of the items. Must not be null.
+     * @param maxSize   the maximum number of cached texts. Must be positive.
+     */
+    public CellTextCache(StringConverter<T> converter, int maxSize) {
+        this.converter = Objects.requireNonNull(converter);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                if (size() > CellTextCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String toString(T item) {
+        if (item == null) {
+            return converter.toString(null);
+        }
+        expunge();
+        final String cached = entries.get(probe.of(item));
+        probe.clear();
+        if (cached != null) {
+            hitCount++;
+            return cached;
+        }
+        missCount++;
+        final String text = converter.toString(item);
+        if (text != null) {
+            entries.put(new Key(item, collected), text);
+        }
+        return text;
+    }
+
+    @Override
+    public T fromString(String string) {
+        return converter.fromString(string);
+    }
+
+    /**
+     * Forgets the text of an item, e.g. after the item changed.
+     *
+     * @param item the item
+     */
+    public void invalidate(T item) {
+        if (item != null) {
+            entries.remove(probe.of(item));
+            probe.clear();
+        }
+    }
+
+    /**
+     * Invalidates the items of the list that are updated, replaced or removed.
+     * The list keeps a weak listener, so it does not keep the cache alive.
+     *
+     * @param items the items of the view
+     */
+    public void invalidateOn(ObservableList<? extends T> items) {
+        @SuppressWarnings("unchecked") final ObservableList<T> list = (ObservableList<T>) items;
+        list.addListener(new WeakListChangeListener<>(itemsListener));
+    }
+
+    private void itemsChanged(ListChangeListener.Change<? extends T> c) {
+        while (c.next()) {
+            if (c.wasUpdated()) {
+                final ObservableList<? extends T> list = c.getList();
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    invalidate(list.get(i));
+                }
+            } else {
+                for (T removed : c.getRemoved()) {
+                    invalidate(removed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all cached texts. Statistics are kept.
+     */
+    public void clear() {
+        entries.clear();
+        while (collected.poll() != null) {
+            // the entries are gone already
+        }
+    }
+
+    public int size() {
+        expunge();
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the ratio of lookups served from the cache, or {@code 1.0} if there were no lookups yet.
+     */
+    public double hitRate() {
+        final long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    private void expunge() {
+        Reference<?> ref;
+        while ((ref = collected.poll()) != null) {
+            entries.remove(ref);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CellTextCache{" +
+                "size=" + entries.size() +
+                ", hits=" + hitCount +
+                ", misses=" + missCount +
+                ", evictions=" + evictionCount +
+                '}';
+    }
+
+    /**
+     * Weak identity key of an item
+     */
+    private static final class Key extends WeakReference<Object> {
+        private final int hash;
+
+        Key(Object item, ReferenceQueue<Object> queue) {
+            super(item, queue);
+            this.hash = System.identityHashCode(item);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o instanceof Key key) {
+                final Object item = get();
+                return item != null && item == key.get();
+            }
+            return o instanceof Probe p && p.item != null && p.item == get();
+        }
+    }
+
+    /**
+     * Reusable lookup key, so that lookups do not allocate
+     */
+    private static final class Probe {
+        private Object item;
+        private int hash;
+
+        Probe of(Object item) {
+            this.item = item;
+            this.hash = System.identityHashCode(item);
+            return this;
+        }
+
+        void clear() {
+            item = null;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && item != null && key.get() == item;
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package ru.vzotov.fx.utils;
 
+import javafx.beans.InvalidationListener;
+import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.control.Cell;
+import javafx.scene.control.Control;
+import javafx.scene.control.Labeled;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.TableCell;
 import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.control.TreeCell;
 import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeTableCell;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.HBox;
 import javafx.util.StringConverter;
 
+import java.util.Objects;
+
 public class CellUtils {
 
     /***************************************************************************
@@ -38,6 +49,10 @@ public class CellUtils {
                 }
             };
 
+    private final static Object UPDATE_STATS_KEY = new Object();
+
+    private final static Object SHARED_EDITOR_KEY = new Object();
+
     /***************************************************************************
      *                                                                         *
      * General convenience                                                     *
@@ -85,32 +100,131 @@ public class CellUtils {
         updateItem(cell, converter, null, null, textField);
     }
 
+    /**
+     * Shows the item of the cell, as text or in the text field when the cell is editing.
+     * Only the text, the graphic and the children of the box that differ from what the cell already shows are set,
+     * so updating a cell with the content it has does not cause layout or CSS work.
+     * The updates are counted in the {@link #getUpdateStats(Cell) statistics} of the cell, once they are requested.
+     * With a {@link CellTextCache} as the converter, items shown again are not formatted again.
+     * Images decoded in background can be shown with the graphic of a {@link CellGraphicLoader}.
+     */
     public static <T> void updateItem(final Cell<T> cell,
                                final StringConverter<T> converter,
                                final HBox hbox,
                                final Node graphic,
                                final TextField textField) {
+        boolean changed;
         if (cell.isEmpty()) {
-            cell.setText(null);
-            cell.setGraphic(null);
+            changed = setText(cell, null);
+            changed |= setGraphic(cell, null);
         } else {
             if (cell.isEditing()) {
-                if (textField != null) {
-                    textField.setText(getItemText(cell, converter));
-                }
-                cell.setText(null);
+                changed = textField != null && setText(textField, getItemText(cell, converter));
+                changed |= setText(cell, null);
 
                 if (graphic != null) {
-                    hbox.getChildren().setAll(graphic, textField);
-                    cell.setGraphic(hbox);
+                    changed |= setChildren(hbox, graphic, textField);
+                    changed |= setGraphic(cell, hbox);
                 } else {
-                    cell.setGraphic(textField);
+                    changed |= setGraphic(cell, textField);
                 }
             } else {
-                cell.setText(getItemText(cell, converter));
-                cell.setGraphic(graphic);
+                changed = setText(cell, getItemText(cell, converter));
+                changed |= setGraphic(cell, graphic);
+            }
+        }
+        // a cell without properties has no statistics, and the check does not create its property map
+        if (cell.hasProperties()) {
+            final Object stats = cell.getProperties().get(UPDATE_STATS_KEY);
+            if (stats != null) {
+                if (changed) {
+                    ((UpdateStats) stats).applied++;
+                } else {
+                    ((UpdateStats) stats).skipped++;
+                }
             }
         }
+        if (Metrics.ENABLED) {
+            Metrics.SINK.cellUpdated(changed);
+        }
+    }
+
+    /**
+     * Returns the statistics of the cell, and starts counting its updates if this is the first request.
+     *
+     * @param cell the cell
+     * @return the numbers of updates of the cell by {@link #updateItem(Cell, StringConverter, HBox, Node, TextField)}
+     * since the first request
+     */
+    public static UpdateStats getUpdateStats(Cell<?> cell) {
+        final Object stats = cell.getProperties().get(UPDATE_STATS_KEY);
+        if (stats != null) {
+            return (UpdateStats) stats;
+        }
+        final UpdateStats created = new UpdateStats();
+        cell.getProperties().put(UPDATE_STATS_KEY, created);
+        return created;
+    }
+
+    /**
+     * Numbers of updates of a cell, those that changed what the cell shows and those skipped
+     * because the cell already showed the item.
+     */
+    public static final class UpdateStats {
+        private long applied;
+        private long skipped;
+
+        public long getApplied() {
+            return applied;
+        }
+
+        public long getSkipped() {
+            return skipped;
+        }
+
+        public void reset() {
+            applied = 0;
+            skipped = 0;
+        }
+
+        @Override
+        public String toString() {
+            return "UpdateStats{applied=" + applied + ", skipped=" + skipped + '}';
+        }
+    }
+
+    private static boolean setText(Labeled labeled, String text) {
+        if (Objects.equals(labeled.getText(), text)) {
+            return false;
+        }
+        labeled.setText(text);
+        return true;
+    }
+
+    // setting the text of a text control replaces its content, resetting the caret, even if the text is the same
+    private static boolean setText(TextInputControl control, String text) {
+        if (Objects.equals(control.getText(), text)) {
+            return false;
+        }
+        control.setText(text);
+        return true;
+    }
+
+    private static boolean setGraphic(Labeled labeled, Node graphic) {
+        if (labeled.getGraphic() == graphic) {
+            return false;
+        }
+        labeled.setGraphic(graphic);
+        return true;
+    }
+
+    private static boolean setChildren(HBox hbox, Node graphic, Node textField) {
+        final ObservableList<Node> children = hbox.getChildren();
+        if (children.size() == 2 && children.get(0) == graphic && children.get(1) == textField) {
+            return false;
+        }
+        children.setAll(graphic, textField);
+        return true;
     }
 
     public static <T> void startEdit(final Cell<T> cell,
@@ -119,15 +233,15 @@ public class CellUtils {
                               final Node graphic,
                               final TextField textField) {
         if (textField != null) {
-            textField.setText(getItemText(cell, converter));
+            setText(textField, getItemText(cell, converter));
         }
-        cell.setText(null);
+        setText(cell, null);
 
         if (graphic != null) {
-            hbox.getChildren().setAll(graphic, textField);
-            cell.setGraphic(hbox);
+            setChildren(hbox, graphic, textField);
+            setGraphic(cell, hbox);
         } else {
-            cell.setGraphic(textField);
+            setGraphic(cell, textField);
         }
 
         textField.selectAll();
@@ -138,8 +252,8 @@ public class CellUtils {
     }
 
     public static <T> void cancelEdit(Cell<T> cell, final StringConverter<T> converter, Node graphic) {
-        cell.setText(getItemText(cell, converter));
-        cell.setGraphic(graphic);
+        setText(cell, getItemText(cell, converter));
+        setGraphic(cell, graphic);
     }
 
     public static <T> TextField createTextField(final Cell<T> cell, final StringConverter<T> converter) {
@@ -166,4 +280,96 @@ public class CellUtils {
         return textField;
     }
 
+    /**
+     * Returns the text field editor shared by all cells of the view of the cell, i.e. its list, tree, table or tree table,
+     * targeted at the cell: the action of the field commits the edit of the cell and escape cancels it.
+     * Use it instead of {@link #createTextField(Cell, StringConverter)} in {@code startEdit}, so that a view keeps
+     * one editor instead of one per cell that was ever edited. The editor is released when the cell stops editing,
+     * whether the edit is committed or cancelled. A cell that is not in a view gets its own text field.
+     *
+     * @param cell      the cell starting to edit
+     * @param converter the converter of the text to the item of the cell
+     * @param <T>       the type of the item
+     * @return the editor
+     */
+    public static <T> TextField sharedTextField(final Cell<T> cell, final StringConverter<T> converter) {
+        final Control view = viewOf(cell);
+        if (view == null) {
+            return createTextField(cell, converter);
+        }
+        SharedEditor editor = (SharedEditor) view.getProperties().get(SHARED_EDITOR_KEY);
+        if (editor == null) {
+            editor = new SharedEditor();
+            view.getProperties().put(SHARED_EDITOR_KEY, editor);
+        }
+        editor.target(cell, converter);
+        return editor.textField;
+    }
+
+    private static Control viewOf(Cell<?> cell) {
+        if (cell instanceof ListCell<?> listCell) return listCell.getListView();
+        if (cell instanceof TreeCell<?> treeCell) return treeCell.getTreeView();
+        if (cell instanceof TableCell<?, ?> tableCell) return tableCell.getTableView();
+        if (cell instanceof TreeTableCell<?, ?> treeTableCell) return treeTableCell.getTreeTableView();
+        return null;
+    }
+
+    /**
+     * Text field of a view, re-targeted to the cell that is editing.
+     * Only one cell of a view edits at a time, so one editor is enough.
+     */
+    private static final class SharedEditor {
+        private final TextField textField = new TextField();
+        private final InvalidationListener editingListener = o -> release();
+        private Cell<?> cell;
+        private StringConverter<?> converter;
+
+        SharedEditor() {
+            // Use onAction here rather than onKeyReleased (with check for Enter),
+            // as otherwise we encounter RT-34685
+            textField.setOnAction(event -> {
+                if (cell != null) {
+                    commit(cell, converter);
+                }
+                event.consume();
+            });
+            textField.setOnKeyReleased(t -> {
+                if (t.getCode() == KeyCode.ESCAPE && cell != null) {
+                    cell.cancelEdit();
+                    t.consume();
+                }
+            });
+        }
+
+        void target(Cell<?> cell, StringConverter<?> converter) {
+            if (this.cell != cell) {
+                if (this.cell != null) {
+                    this.cell.editingProperty().removeListener(editingListener);
+                }
+                this.cell = cell;
+                cell.editingProperty().addListener(editingListener);
+            }
+            this.converter = converter;
+        }
+
+        private void release() {
+            if (cell != null && !cell.isEditing()) {
+                cell.editingProperty().removeListener(editingListener);
+                cell = null;
+                converter = null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> void commit(Cell<T> cell, StringConverter<?> converter) {
+            if (converter == null) {
+                throw new IllegalStateException(
+                        "Attempting to convert text input into Object, but provided "
+                                + "StringConverter is null. Be sure to set a StringConverter "
+                                + "in your cell factory.");
+            }
+            cell.commitEdit(((StringConverter<T>) converter).fromString(textField.getText()));
+        }
+    }
+
 }
@@ -1,10 +1,12 @@
 package ru.vzotov.fx.utils;
 
+import javafx.animation.AnimationTimer;
 import javafx.beans.WeakListener;
 import javafx.beans.property.Property;
 import javafx.beans.property.ReadOnlyProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -88,6 +90,63 @@ public class ConversionBinding<U, V> implements ChangeListener<Object>, WeakList
         return binding;
     }
 
+    /**
+     * Binds a target property to a source property with conversion functions, coalescing source updates.
+     * Changes of the source do not convert immediately: the binding is marked dirty, and the latest source value
+     * is converted and applied to the target once, on the next JavaFX pulse.
+     * Changes of the target are still converted to the source immediately.
+     * This mode is intended for sources that change many times per frame, when only the last value is ever shown.
+     * Source updates must happen on the JavaFX Application Thread.
+     *
+     * @param target   The target property to bind. Must not be null.
+     * @param source   The source property to bind. Must not be null.
+     * @param toSource The function to convert a value of type U to a value of type V. Must not be null.
+     * @param toTarget The function to convert a value of type V to a value of type U. Must not be null.
+     * @param <U>      The type of the target property.
+     * @param <V>      The type of the source property.
+     * @return A new ConversionBinding instance that binds the target property to the source property.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the target and source are the same property.
+     * @see #bindCoalescing(Property, Property, Function, Function, Duration)
+     */
+    public static <U, V> ConversionBinding<U, V> bindCoalescing(Property<U> target, Property<V> source, Function<U, V> toSource, Function<V, U> toTarget) {
+        return bindCoalescing(target, source, toSource, toTarget, Duration.ZERO);
+    }
+
+    /**
+     * Binds a target property to a source property with conversion functions, coalescing source updates.
+     * Changes of the source do not convert immediately: the binding is marked dirty, and the latest source value
+     * is converted and applied to the target at most once per interval, on a JavaFX pulse.
+     * Changes of the target are still converted to the source immediately.
+     * Source updates must happen on the JavaFX Application Thread.
+     *
+     * @param target   The target property to bind. Must not be null.
+     * @param source   The source property to bind. Must not be null.
+     * @param toSource The function to convert a value of type U to a value of type V. Must not be null.
+     * @param toTarget The function to convert a value of type V to a value of type U. Must not be null.
+     * @param interval The minimal interval between two conversions to the target. {@link Duration#ZERO} means once per pulse. Must not be null.
+     * @param <U>      The type of the target property.
+     * @param <V>      The type of the source property.
+     * @return A new ConversionBinding instance that binds the target property to the source property.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the target and source are the same property, or the interval is not a finite non-negative duration.
+     */
+    public static <U, V> ConversionBinding<U, V> bindCoalescing(Property<U> target, Property<V> source, Function<U, V> toSource, Function<V, U> toTarget, Duration interval) {
+        checkParameters(target, source);
+        Objects.requireNonNull(toSource);
+        Objects.requireNonNull(toTarget);
+        Objects.requireNonNull(interval);
+        if (interval.isUnknown() || interval.isIndefinite() || interval.lessThan(Duration.ZERO)) {
+            throw new IllegalArgumentException("Interval must be a finite non-negative duration");
+        }
+        final ConversionBinding<U, V> binding = new ConversionBinding<>(target, source, toSource, toTarget);
+        binding.coalesceIntervalNanos = (long) (interval.toMillis() * 1_000_000);
+        target.setValue(toTarget.apply(source.getValue()));
+        target.addListener(binding);
+        source.addListener(binding);
+        return binding;
+    }
+
     private final int cachedHashCode;
     private final WeakReference<ReadOnlyProperty<U>> targetPropertyRef;
     private final WeakReference<Property<V>> sourcePropertyRef;
@@ -95,6 +154,8 @@ public class ConversionBinding<U, V> implements ChangeListener<Object>, WeakList
     private final Function<U, V> toSource;
     private final Function<V, U> toTarget;
     private Consumer<U> setter;
+    private long coalesceIntervalNanos = -1;
+    private PulseCoalescer coalescer;
 
     protected Object getTarget() {
         return targetPropertyRef.get();
@@ -165,33 +226,130 @@ public class ConversionBinding<U, V> implements ChangeListener<Object>, WeakList
             final ReadOnlyProperty<U> target = targetPropertyRef.get();
             final Property<V> source = sourcePropertyRef.get();
             if ((target == null) || (source == null)) {
-                if (target != null) {
-                    target.removeListener(this);
+                dispose(target, source);
+            } else if (target == observable) {
+                if (coalescer != null) {
+                    // the source is about to reflect the target, a pending conversion would be stale
+                    coalescer.cancel();
                 }
-                if (source != null) {
-                    source.removeListener(this);
-                }
-            } else {
                 try {
                     updating = true;
-                    if (target == observable) {
-                        try {
-                            source.setValue(toSource.apply(target.getValue()));
-                        } catch (Exception e) {
-                            log.debug("Exception while parsing String in bidirectional binding");
-                            source.setValue(null);
-                        }
-                    } else {
-                        try {
-                            setter.accept(toTarget.apply(source.getValue()));
-                        } catch (Exception e) {
-                            log.debug("Exception while converting Object to String in bidirectional binding");
-                            setter.accept(null);
-                        }
+                    try {
+                        source.setValue(convert(toSource, target.getValue(), true));
+                    } catch (Exception e) {
+                        log.debug("Exception while parsing String in bidirectional binding", e);
+                        source.setValue(null);
                     }
                 } finally {
                     updating = false;
                 }
+            } else if (coalesceIntervalNanos >= 0) {
+                if (coalescer == null) {
+                    coalescer = new PulseCoalescer();
+                }
+                coalescer.schedule();
+            } else {
+                updateTarget(source);
+            }
+        }
+    }
+
+    /**
+     * Applies a pending coalesced conversion to the target right away.
+     * Does nothing if the binding is not coalescing or there is no pending source change.
+     */
+    public void flush() {
+        if (coalescer != null && coalescer.scheduled) {
+            coalescer.cancel();
+            flushTarget();
+        }
+    }
+
+    private void flushTarget() {
+        if (!updating) {
+            final ReadOnlyProperty<U> target = targetPropertyRef.get();
+            final Property<V> source = sourcePropertyRef.get();
+            if ((target == null) || (source == null)) {
+                dispose(target, source);
+            } else {
+                updateTarget(source);
+            }
+        }
+    }
+
+    private void updateTarget(Property<V> source) {
+        try {
+            updating = true;
+            try {
+                setter.accept(convert(toTarget, source.getValue(), false));
+            } catch (Exception e) {
+                log.debug("Exception while converting Object to String in bidirectional binding", e);
+                setter.accept(null);
+            }
+        } finally {
+            updating = false;
+        }
+    }
+
+    /**
+     * Applies the conversion function, reporting it to the {@link FxMetrics} when they are enabled
+     */
+    private static <A, B> B convert(Function<A, B> converter, A value, boolean toSource) {
+        if (!Metrics.ENABLED) {
+            return converter.apply(value);
+        }
+        final long start = System.nanoTime();
+        final B result;
+        try {
+            result = converter.apply(value);
+        } catch (RuntimeException e) {
+            Metrics.SINK.conversion(toSource, System.nanoTime() - start, e);
+            throw e;
+        }
+        Metrics.SINK.conversion(toSource, System.nanoTime() - start, null);
+        return result;
+    }
+
+    private void dispose(ReadOnlyProperty<U> target, Property<V> source) {
+        if (target != null) {
+            target.removeListener(this);
+        }
+        if (source != null) {
+            source.removeListener(this);
+        }
+        if (coalescer != null) {
+            coalescer.cancel();
+        }
+    }
+
+    /**
+     * Runs the pending source to target conversion on a pulse, at most once per coalescing interval.
+     * The timer is only running while a conversion is pending, so an idle binding is not referenced by the toolkit.
+     */
+    private final class PulseCoalescer extends AnimationTimer {
+        private boolean scheduled;
+        private long lastFlush = Long.MIN_VALUE;
+
+        void schedule() {
+            if (!scheduled) {
+                scheduled = true;
+                start();
+            }
+        }
+
+        void cancel() {
+            if (scheduled) {
+                scheduled = false;
+                stop();
+            }
+        }
+
+        @Override
+        public void handle(long now) {
+            if (lastFlush == Long.MIN_VALUE || now - lastFlush >= coalesceIntervalNanos) {
+                lastFlush = now;
+                cancel();
+                flushTarget();
             }
         }
     }
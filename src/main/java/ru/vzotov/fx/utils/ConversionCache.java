@@ -0,0 +1,156 @@
+package ru.vzotov.fx.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Bounded memoizing wrapper of a conversion function.
+ * Results are kept in least-recently-used order and evicted when the cache exceeds its maximum size
+ * or, if a weigher is given, its maximum total weight.
+ * <p>
+ * The cache is thread-safe and may be shared: pass the same instance to every binding or control that uses
+ * the underlying conversion, for example as {@code toSource} of {@link ConversionBinding#bind}.
+ * Null inputs are never cached, and neither are conversions that throw.
+ * The conversion runs outside of the cache lock, so concurrent misses of the same key may convert twice.
+ *
+ * @param <K> the type of the conversion input.
+ * @param <V> the type of the conversion result.
+ * @see CachedStringConverter
+ */
+public class ConversionCache<K, V> implements Function<K, V> {
+
+    private static final Object NULL = new Object();
+
+    private final Function<K, V> function;
+    private final int maxSize;
+    private final long maxWeight;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final LinkedHashMap<K, Object> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates a cache limited by the number of entries.
+     *
+     * @param function The conversion to memoize. Must not be null.
+     * @param maxSize  The maximum number of cached results. Must be positive.
+     */
+    public ConversionCache(Function<K, V> function, int maxSize) {
+        this(function, maxSize, Long.MAX_VALUE, (k, v) -> 0);
+    }
+
+    /**
+     * Creates a cache limited by the number of entries and by their total weight.
+     *
+     * @param function  The conversion to memoize. Must not be null.
+     * @param maxSize   The maximum number of cached results. Must be positive.
+     * @param maxWeight The maximum total weight of cached results. Must be positive.
+     * @param weigher   The function computing the weight of an entry, e.g. the length of a string. Must not be null.
+     */
+    public ConversionCache(Function<K, V> function, int maxSize, long maxWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+        this.function = Objects.requireNonNull(function);
+        this.weigher = Objects.requireNonNull(weigher);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive");
+        }
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V apply(K key) {
+        if (key == null) {
+            return function.apply(null);
+        }
+        synchronized (this) {
+            final Object cached = entries.get(key);
+            if (cached != null) {
+                hitCount++;
+                return cached == NULL ? null : (V) cached;
+            }
+            missCount++;
+        }
+        final V value = function.apply(key);
+        synchronized (this) {
+            final Object previous = entries.put(key, value == null ? NULL : value);
+            if (previous != null) {
+                weight -= weigh(key, previous);
+            }
+            weight += weigher.applyAsInt(key, value);
+            evict();
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int weigh(K key, Object value) {
+        return weigher.applyAsInt(key, value == NULL ? null : (V) value);
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<K, Object>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxSize || weight > maxWeight) && it.hasNext()) {
+            final Map.Entry<K, Object> eldest = it.next();
+            weight -= weigh(eldest.getKey(), eldest.getValue());
+            it.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Removes all cached results. Statistics are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public synchronized long hitCount() {
+        return hitCount;
+    }
+
+    public synchronized long missCount() {
+        return missCount;
+    }
+
+    public synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the ratio of lookups served from the cache, or {@code 1.0} if there were no lookups yet.
+     */
+    public synchronized double hitRate() {
+        final long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ConversionCache{" +
+                "size=" + entries.size() +
+                ", weight=" + weight +
+                ", hits=" + hitCount +
+                ", misses=" + missCount +
+                ", evictions=" + evictionCount +
+                '}';
+    }
+}
@@ -8,6 +8,8 @@ import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.css.PseudoClass;
 import javafx.event.Event;
 import javafx.event.EventType;
@@ -34,6 +36,20 @@ public abstract class CustomComboBox<T> extends TextField {
 
     public CustomComboBox() {
         getStyleClass().add(DEFAULT_STYLE_CLASS);
+
+        items.addListener((o, oldItems, newItems) -> updateFilterSource());
+        converter.addListener((o, oldConverter, newConverter) -> updateFilterSource());
+        textProperty().addListener((o, oldText, newText) -> {
+            // only text typed by the user narrows the items
+            if (filter != null && isTypeAhead() && isFocused()) {
+                filter.filter(newText);
+            }
+        });
+        typeAhead.addListener((o, wasEnabled, enabled) -> {
+            if (filter != null) {
+                filter.filter(enabled && isFocused() ? getText() : "");
+            }
+        });
     }
 
     public void show() {
@@ -171,6 +187,98 @@ public abstract class CustomComboBox<T> extends TextField {
         this.converter.set(converter);
     }
 
+    // items
+
+    private final ObjectProperty<ObservableList<T>> items = new SimpleObjectProperty<>(this, "items", FXCollections.observableArrayList());
+
+    public ObservableList<T> getItems() {
+        return items.get();
+    }
+
+    /**
+     * The items to choose from. They are filtered by the text typed by the user when {@link #typeAheadProperty()}
+     * is enabled, and the matching items are available as {@link #getFilteredItems()}.
+     *
+     * @return the items property
+     */
+    public ObjectProperty<ObservableList<T>> itemsProperty() {
+        return items;
+    }
+
+    public void setItems(ObservableList<T> items) {
+        this.items.set(items);
+    }
+
+    // item source
+
+    private final ObjectProperty<ItemSource<T>> itemSource = new SimpleObjectProperty<>(this, "itemSource", null);
+
+    public ItemSource<T> getItemSource() {
+        return itemSource.get();
+    }
+
+    /**
+     * Optional source of items loaded page by page as the popup scrolls, instead of the {@link #itemsProperty() items}.
+     * Type-ahead filtering does not apply to an item source.
+     *
+     * @return the item source property
+     */
+    public ObjectProperty<ItemSource<T>> itemSourceProperty() {
+        return itemSource;
+    }
+
+    public void setItemSource(ItemSource<T> itemSource) {
+        this.itemSource.set(itemSource);
+    }
+
+    // type-ahead
+
+    private final BooleanProperty typeAhead = new SimpleBooleanProperty(this, "typeAhead", false);
+
+    public boolean isTypeAhead() {
+        return typeAhead.get();
+    }
+
+    /**
+     * Enables filtering of the items by the text the user types into the field.
+     *
+     * @return the type-ahead property
+     */
+    public BooleanProperty typeAheadProperty() {
+        return typeAhead;
+    }
+
+    public void setTypeAhead(boolean typeAhead) {
+        this.typeAhead.set(typeAhead);
+    }
+
+    private TypeAheadFilter<T> filter;
+
+    /**
+     * @return the filter that maintains {@link #getFilteredItems()}
+     */
+    public TypeAheadFilter<T> getTypeAheadFilter() {
+        if (filter == null) {
+            filter = new TypeAheadFilter<>();
+            updateFilterSource();
+        }
+        return filter;
+    }
+
+    /**
+     * @return the items matching the text typed by the user, or all items when type-ahead is disabled
+     */
+    public ObservableList<T> getFilteredItems() {
+        return getTypeAheadFilter().getResults();
+    }
+
+    private void updateFilterSource() {
+        if (filter != null) {
+            final StringConverter<T> c = getConverter();
+            filter.setSource(getItems(), c == null ? String::valueOf : c::toString);
+        }
+    }
+
     // arrow symbol
 
     private final StringProperty arrowSymbol = new SimpleStringProperty(this, "arrowSymbol", null /*"\u25BC"*/);
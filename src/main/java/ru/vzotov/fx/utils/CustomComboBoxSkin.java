@@ -24,6 +24,7 @@ public abstract class CustomComboBoxSkin<T> extends TextFieldSkin {
     private final Region arrow;
 
     private Popup popup;
+    private Node popupContent;
 
     public CustomComboBoxSkin(CustomComboBox<T> control) {
         super(control);
@@ -69,46 +70,105 @@ public abstract class CustomComboBoxSkin<T> extends TextFieldSkin {
     protected void hidePopup() {
         if (popup != null) {
             popup.hide();
-            popup = null;
         }
     }
 
     protected void showPopup() {
+        final long start = Metrics.ENABLED ? System.nanoTime() : 0L;
         control.requestFocus();
 
-        if (popup != null) {
-            hidePopup();
+        final Popup popup = getPopup();
+        if (popup.isShowing()) {
+            popup.hide();
+        }
+        final Node content = getCachedPopupContent();
+        if (popup.getContent().isEmpty() || popup.getContent().get(0) != content) {
+            popup.getContent().setAll(content);
         }
-
-        popup = new Popup();
-        popup.setAutoHide(true);
-        popup.setOnAutoHide(e -> control.hide());
-        popup.getContent().add(getPopupContent());
-        popup.setAnchorLocation(PopupWindow.AnchorLocation.WINDOW_TOP_RIGHT);
 
         final Bounds localBounds = getSkinnable().getBoundsInLocal();
         final Point2D pt = getSkinnable().localToScreen(localBounds.getMaxX(), localBounds.getMaxY());
         popup.show(getSkinnable(), pt.getX(), pt.getY());
 
-        popup.requestFocus();
-        popup.focusedProperty().addListener((o, wasFocused, isFocused) -> {
-            if (wasFocused != isFocused) {
-                popup.hide();
-                popup = null;
-            }
-        });
+        if (isPopupFocusedOnShow()) {
+            popup.requestFocus();
+        }
+        if (Metrics.ENABLED) {
+            Metrics.SINK.popupShown(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Defines whether the popup takes the focus when it is shown. Skins that let the user keep typing into the field
+     * while the popup is open return {@code false}.
+     *
+     * @return {@code true} by default
+     */
+    protected boolean isPopupFocusedOnShow() {
+        return true;
+    }
+
+    /**
+     * The popup is created once per skin and reused every time it is shown
+     */
+    private Popup getPopup() {
+        if (popup == null) {
+            popup = new Popup();
+            popup.setAutoHide(true);
+            popup.setOnAutoHide(e -> control.hide());
+            popup.setAnchorLocation(PopupWindow.AnchorLocation.WINDOW_TOP_RIGHT);
+            popup.focusedProperty().addListener((o, wasFocused, isFocused) -> {
+                if (wasFocused && !isFocused) {
+                    control.hide();
+                }
+            });
+        }
+        return popup;
+    }
+
+    private Node getCachedPopupContent() {
+        if (popupContent == null) {
+            popupContent = getPopupContent();
+        }
+        return popupContent;
+    }
+
+    /**
+     * Drops the cached popup content, so that {@link #getPopupContent()} is called again the next time the popup is shown.
+     */
+    protected void invalidatePopupContent() {
+        popupContent = null;
     }
 
     protected void toggle() {
-        if (popup != null) {
+        if (popup != null && popup.isShowing()) {
             control.hide();
+        } else if (control.isShowing()) {
+            showPopup();
         } else {
             control.show();
         }
     }
 
+    /**
+     * Creates the popup content. It is called once, when the popup is shown for the first time,
+     * and the node is reused afterwards until {@link #invalidatePopupContent()} is called.
+     *
+     * @return the popup content node
+     */
     protected abstract Node getPopupContent();
 
+    @Override
+    public void dispose() {
+        if (popup != null) {
+            popup.hide();
+            popup.getContent().clear();
+            popup = null;
+        }
+        popupContent = null;
+        super.dispose();
+    }
+
     @Override
     protected void layoutChildren(double x, double y, double w, double h) {
         super.layoutChildren(x, y, w, h);
@@ -5,6 +5,13 @@ import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 
+/**
+ * A data point. The fields are stored as plain values, and a property is only created
+ * when it is requested for the first time, so points that are never observed stay small.
+ *
+ * @param <X> the type of the x-key
+ * @param <N> the type of the node
+ */
 public class Data<X, N> {
 
     public Data(X x, double value) {
@@ -12,53 +19,85 @@ public class Data<X, N> {
         setValue(value);
     }
 
-    private final ObjectProperty<N> node = new SimpleObjectProperty<>();
+    // node
+
+    private N _node;
+    private ObjectProperty<N> node;
 
     public N getNode() {
-        return node.get();
+        return node == null ? _node : node.get();
     }
 
     public ObjectProperty<N> nodeProperty() {
+        if (node == null) {
+            node = new SimpleObjectProperty<>(this, "node", _node);
+            _node = null;
+        }
         return node;
     }
 
     public void setNode(N node) {
-        this.node.set(node);
+        if (this.node == null) {
+            _node = node;
+        } else {
+            this.node.set(node);
+        }
     }
 
-    private final ObjectProperty<X> x = new SimpleObjectProperty<>();
+    // x
+
+    private X _x;
+    private ObjectProperty<X> x;
 
     public X getX() {
-        return x.get();
+        return x == null ? _x : x.get();
     }
 
     public ObjectProperty<X> xProperty() {
+        if (x == null) {
+            x = new SimpleObjectProperty<>(this, "x", _x);
+            _x = null;
+        }
         return x;
     }
 
     public void setX(X x) {
-        this.x.set(x);
+        if (this.x == null) {
+            _x = x;
+        } else {
+            this.x.set(x);
+        }
     }
 
-    private final DoubleProperty value = new SimpleDoubleProperty();
+    // value
+
+    private double _value;
+    private DoubleProperty value;
 
     public double getValue() {
-        return value.get();
+        return value == null ? _value : value.get();
     }
 
     public DoubleProperty valueProperty() {
+        if (value == null) {
+            value = new SimpleDoubleProperty(this, "value", _value);
+        }
         return value;
     }
 
     public void setValue(double value) {
-        this.value.set(value);
+        if (this.value == null) {
+            _value = value;
+        } else {
+            this.value.set(value);
+        }
     }
 
     @Override
     public String toString() {
         return "Data{" +
-                "x=" + x +
-                ", value=" + value +
+                "x=" + getX() +
+                ", value=" + getValue() +
                 '}';
     }
 }
@@ -0,0 +1,22 @@
+package ru.vzotov.fx.utils;
+
+import java.util.List;
+
+/**
+ * Reads the points of a list of {@link Data}. The columns of a {@link DataSeries} are read directly,
+ * so that reading does not create views.
+ */
+final class DataPoints {
+
+    private DataPoints() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <X> X x(List<? extends Data<X, ?>> list, int index) {
+        return list instanceof DataSeries<?, ?> series ? (X) series.getX(index) : list.get(index).getX();
+    }
+
+    static double value(List<? extends Data<?, ?>> list, int index) {
+        return list instanceof DataSeries<?, ?> series ? series.getValue(index) : list.get(index).getValue();
+    }
+}
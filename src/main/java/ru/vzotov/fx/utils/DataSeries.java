@@ -0,0 +1,559 @@
+package ru.vzotov.fx.utils;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.collections.ObservableListBase;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Observable list of {@link Data} points stored in columns: the x-keys in an object array and the values
+ * in a primitive {@code double} array. A point costs a few array slots instead of a {@link Data} instance
+ * with its properties.
+ * <p>
+ * {@link Data} objects are views that are only created when a point is accessed through {@link #get(int)}.
+ * Changes made through the view and through the series are visible to both. A view is only weakly referenced
+ * by the series until it is observed, i.e. one of its properties is requested or its node is set: iterating
+ * over all points, e.g. in {@code equals} or {@code forEach}, does not keep a view per point, and a view that
+ * nobody references anymore is created again on the next access. Observed views, and points added as
+ * {@link Data} objects, are kept. The primitive accessors ({@link #getX(int)}, {@link #getValue(int)},
+ * {@link #setValue(int, double)}) never create views.
+ * <p>
+ * Bulk operations fire a single change event, and {@link #batch(Runnable)} merges the events of several operations.
+ *
+ * @param <X> the type of the x-keys
+ * @param <N> the type of the nodes of the points
+ */
+public class DataSeries<X, N> extends ObservableListBase<Data<X, N>> {
+
+    private static final Object[] EMPTY_KEYS = new Object[0];
+    private static final double[] EMPTY_VALUES = new double[0];
+
+    private Object[] keys = EMPTY_KEYS;
+    private double[] values = EMPTY_VALUES;
+    /**
+     * Views of the points: null, a {@link ViewRef} to a view that is not observed, or a kept view
+     */
+    private Object[] views;
+    private final ReferenceQueue<Data<?, ?>> collectedViews = new ReferenceQueue<>();
+    private int size;
+
+    public DataSeries() {
+    }
+
+    public DataSeries(int initialCapacity) {
+        ensureCapacity(initialCapacity);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the view of the point, creating it if there is none.
+     *
+     * @param index the index of the point
+     * @return the point
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Data<X, N> get(int index) {
+        Objects.checkIndex(index, size);
+        expungeViews();
+        if (views == null) {
+            views = new Object[keys.length];
+        }
+        final Data<X, N> view = liveView(index);
+        if (view != null) {
+            return view;
+        }
+        final View<X, N> created = new View<>((X) keys[index], values[index], this);
+        created.ref = new ViewRef(created, index, collectedViews);
+        views[index] = created.ref;
+        return created;
+    }
+
+    /**
+     * @param index the index of the point
+     * @return {@code true} if a {@link Data} view of the point exists
+     */
+    public boolean isMaterialized(int index) {
+        Objects.checkIndex(index, size);
+        return liveView(index) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public X getX(int index) {
+        Objects.checkIndex(index, size);
+        final Data<X, N> view = view(index);
+        return view == null ? (X) keys[index] : view.getX();
+    }
+
+    public double getValue(int index) {
+        Objects.checkIndex(index, size);
+        final Data<X, N> view = view(index);
+        return view == null ? values[index] : view.getValue();
+    }
+
+    public void setX(int index, X x) {
+        Objects.checkIndex(index, size);
+        beginChange();
+        writeX(index, x);
+        nextUpdate(index);
+        endChange();
+    }
+
+    public void setValue(int index, double value) {
+        Objects.checkIndex(index, size);
+        beginChange();
+        writeValue(index, value);
+        nextUpdate(index);
+        endChange();
+    }
+
+    /**
+     * Copies a range of values into an array.
+     *
+     * @param from   the index of the first point
+     * @param dst    the destination array
+     * @param offset the position in the destination array
+     * @param length the number of values
+     */
+    public void getValues(int from, double[] dst, int offset, int length) {
+        Objects.checkFromIndexSize(from, length, size);
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        System.arraycopy(values, from, dst, offset, length);
+        if (views != null) {
+            for (int i = 0; i < length; i++) {
+                final Data<X, N> view = view(from + i);
+                if (view != null) {
+                    dst[offset + i] = view.getValue();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a copy of all values
+     */
+    public double[] toValueArray() {
+        final double[] result = new double[size];
+        getValues(0, result, 0, size);
+        return result;
+    }
+
+    /**
+     * Replaces a range of values, firing one change event.
+     *
+     * @param from   the index of the first point to update
+     * @param src    the new values
+     * @param offset the position of the first new value in {@code src}
+     * @param length the number of values
+     */
+    public void setValues(int from, double[] src, int offset, int length) {
+        Objects.checkFromIndexSize(from, length, size);
+        Objects.checkFromIndexSize(offset, length, src.length);
+        if (length == 0) {
+            return;
+        }
+        beginChange();
+        expungeViews();
+        if (views == null) {
+            System.arraycopy(src, offset, values, from, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                writeValue(from + i, src[offset + i]);
+            }
+        }
+        if (hasListeners()) {
+            for (int i = from; i < from + length; i++) {
+                nextUpdate(i);
+            }
+        }
+        endChange();
+    }
+
+    /**
+     * Replaces the x-keys and values of a range of points, firing one change event.
+     *
+     * @param from   the index of the first point to replace
+     * @param xs     the new x-keys
+     * @param values the new values, as many as x-keys
+     */
+    public void setRange(int from, List<? extends X> xs, double[] values) {
+        checkColumns(xs, values);
+        final int length = values.length;
+        Objects.checkFromIndexSize(from, length, size);
+        if (length == 0) {
+            return;
+        }
+        beginChange();
+        for (int i = 0; i < length; i++) {
+            writeX(from + i, xs.get(i));
+            writeValue(from + i, values[i]);
+            nextUpdate(from + i);
+        }
+        endChange();
+    }
+
+    /**
+     * Appends a point without creating a view for it.
+     *
+     * @param x     the x-key
+     * @param value the value
+     */
+    public void append(X x, double value) {
+        ensureCapacity(size + 1);
+        keys[size] = x;
+        values[size] = value;
+        size++;
+        modCount++;
+        beginChange();
+        nextAdd(size - 1, size);
+        endChange();
+    }
+
+    /**
+     * Appends points, firing one change event.
+     *
+     * @param xs     the x-keys
+     * @param values the values, as many as x-keys
+     */
+    public void appendAll(List<? extends X> xs, double[] values) {
+        checkColumns(xs, values);
+        final int length = values.length;
+        if (length == 0) {
+            return;
+        }
+        ensureCapacity(size + length);
+        for (int i = 0; i < length; i++) {
+            keys[size + i] = xs.get(i);
+        }
+        System.arraycopy(values, 0, this.values, size, length);
+        final int from = size;
+        size += length;
+        modCount++;
+        beginChange();
+        nextAdd(from, size);
+        endChange();
+    }
+
+    /**
+     * Runs several operations, firing a single change event for all of them.
+     *
+     * @param operations the operations on this series
+     */
+    public void batch(Runnable operations) {
+        beginChange();
+        try {
+            operations.run();
+        } finally {
+            endChange();
+        }
+    }
+
+    @Override
+    public void add(int index, Data<X, N> element) {
+        Objects.requireNonNull(element);
+        Objects.checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        final int moved = size - index;
+        System.arraycopy(keys, index, keys, index + 1, moved);
+        System.arraycopy(values, index, values, index + 1, moved);
+        if (views != null) {
+            System.arraycopy(views, index, views, index + 1, moved);
+            views[index] = null;
+            reindexViews(index + 1, index + 1 + moved);
+        }
+        keys[index] = element.getX();
+        values[index] = element.getValue();
+        size++;
+        setView(index, element);
+        modCount++;
+        beginChange();
+        nextAdd(index, index + 1);
+        endChange();
+    }
+
+    @Override
+    public Data<X, N> set(int index, Data<X, N> element) {
+        Objects.requireNonNull(element);
+        final Data<X, N> old = get(index);
+        detachView(views[index]);
+        keys[index] = element.getX();
+        values[index] = element.getValue();
+        setView(index, element);
+        beginChange();
+        nextSet(index, old);
+        endChange();
+        return old;
+    }
+
+    @Override
+    public Data<X, N> remove(int index) {
+        final Data<X, N> old = get(index);
+        remove(index, index + 1);
+        return old;
+    }
+
+    @Override
+    public void remove(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        if (from == to) {
+            return;
+        }
+        beginChange();
+        final Data<X, N>[] removedViews = newViews(to - from);
+        if (views != null) {
+            for (int i = from; i < to; i++) {
+                removedViews[i - from] = liveView(i);
+                detachView(views[i]);
+            }
+        }
+        nextRemove(from, new RemovedPoints<>(
+                Arrays.copyOfRange(keys, from, to),
+                Arrays.copyOfRange(values, from, to),
+                removedViews));
+        final int moved = size - to;
+        System.arraycopy(keys, to, keys, from, moved);
+        System.arraycopy(values, to, values, from, moved);
+        if (views != null) {
+            System.arraycopy(views, to, views, from, moved);
+            Arrays.fill(views, size - (to - from), size, null);
+            reindexViews(from, from + moved);
+        }
+        Arrays.fill(keys, size - (to - from), size, null);
+        size -= to - from;
+        modCount++;
+        endChange();
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            remove(0, size);
+        }
+    }
+
+    /**
+     * @return the kept view of the point, the only kind that may differ from the columns, or null
+     */
+    @SuppressWarnings("unchecked")
+    private Data<X, N> view(int index) {
+        final Object view = views == null ? null : views[index];
+        return view instanceof Data ? (Data<X, N>) view : null;
+    }
+
+    /**
+     * @return the kept view of the point, or its view that is not observed if it is still referenced, or null
+     */
+    @SuppressWarnings("unchecked")
+    private Data<X, N> liveView(int index) {
+        final Object view = views == null ? null : views[index];
+        if (view instanceof ViewRef ref) {
+            return (Data<X, N>) ref.get();
+        }
+        return (Data<X, N>) view;
+    }
+
+    /**
+     * Keeps a view once it is observed, since its properties then hold the point
+     */
+    private void keep(View<X, N> view) {
+        if (view.ref.index >= 0) {
+            views[view.ref.index] = view;
+        }
+    }
+
+    private void reindexViews(int from, int to) {
+        for (int i = from; i < to; i++) {
+            final Object view = views[i];
+            if (view instanceof ViewRef ref) {
+                ref.index = i;
+            } else if (view instanceof View<?, ?> kept) {
+                kept.ref.index = i;
+            }
+        }
+    }
+
+    /**
+     * Stops a view of a removed point from writing to the columns
+     */
+    private static void detachView(Object view) {
+        if (view instanceof ViewRef ref) {
+            ref.index = -1;
+        } else if (view instanceof View<?, ?> kept) {
+            kept.ref.index = -1;
+        }
+    }
+
+    /**
+     * Clears the slots of the collected views, so that they do not keep their references
+     */
+    private void expungeViews() {
+        Object collected;
+        while ((collected = collectedViews.poll()) != null) {
+            final ViewRef ref = (ViewRef) collected;
+            if (ref.index >= 0 && views[ref.index] == ref) {
+                views[ref.index] = null;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <X, N> Data<X, N>[] newViews(int length) {
+        return (Data<X, N>[]) new Data<?, ?>[length];
+    }
+
+    private void setView(int index, Data<X, N> view) {
+        if (views == null) {
+            views = new Object[keys.length];
+        }
+        views[index] = view;
+    }
+
+    private void writeX(int index, X x) {
+        final Data<X, N> view = liveView(index);
+        if (view != null) {
+            view.setX(x);
+        }
+        keys[index] = x;
+    }
+
+    private void writeValue(int index, double value) {
+        final Data<X, N> view = liveView(index);
+        if (view != null) {
+            view.setValue(value);
+        }
+        values[index] = value;
+    }
+
+    private static void checkColumns(List<?> xs, double[] values) {
+        Objects.requireNonNull(xs);
+        Objects.requireNonNull(values);
+        if (xs.size() != values.length) {
+            throw new IllegalArgumentException("The number of x-keys and values must be the same");
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            final int newCapacity = Math.max(capacity, Math.max(16, keys.length + (keys.length >> 1)));
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+            if (views != null) {
+                views = Arrays.copyOf(views, newCapacity);
+            }
+        }
+    }
+
+    /**
+     * Weak reference of the series to a view that is not observed, with the current index of the point
+     */
+    private static final class ViewRef extends WeakReference<Data<?, ?>> {
+        private int index;
+
+        ViewRef(Data<?, ?> view, int index, ReferenceQueue<Data<?, ?>> queue) {
+            super(view, queue);
+            this.index = index;
+        }
+    }
+
+    /**
+     * View created by the series. Its setters write through to the columns, so that the series does not need
+     * to keep it to see the changes, until one of its properties is requested and the series keeps it.
+     */
+    private static final class View<X, N> extends Data<X, N> {
+        private final DataSeries<X, N> series;
+        private ViewRef ref;
+
+        View(X x, double value, DataSeries<X, N> series) {
+            super(x, value);
+            this.series = series;
+        }
+
+        private boolean attached() {
+            return ref != null && ref.index >= 0;
+        }
+
+        @Override
+        public void setX(X x) {
+            super.setX(x);
+            if (attached()) {
+                series.keys[ref.index] = x;
+            }
+        }
+
+        @Override
+        public void setValue(double value) {
+            super.setValue(value);
+            if (attached()) {
+                series.values[ref.index] = value;
+            }
+        }
+
+        @Override
+        public ObjectProperty<X> xProperty() {
+            series.keep(this);
+            return super.xProperty();
+        }
+
+        @Override
+        public DoubleProperty valueProperty() {
+            series.keep(this);
+            return super.valueProperty();
+        }
+
+        @Override
+        public ObjectProperty<N> nodeProperty() {
+            series.keep(this);
+            return super.nodeProperty();
+        }
+
+        @Override
+        public void setNode(N node) {
+            super.setNode(node);
+            if (node != null) {
+                series.keep(this);
+            }
+        }
+    }
+
+    /**
+     * Snapshot of removed points for change listeners, creating views only for the points they look at
+     */
+    private static final class RemovedPoints<X, N> extends AbstractList<Data<X, N>> {
+        private final Object[] keys;
+        private final double[] values;
+        private final Data<X, N>[] views;
+
+        RemovedPoints(Object[] keys, double[] values, Data<X, N>[] views) {
+            this.keys = keys;
+            this.values = values;
+            this.views = views;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Data<X, N> get(int index) {
+            Objects.checkIndex(index, keys.length);
+            Data<X, N> view = views[index];
+            if (view == null) {
+                view = new Data<>((X) keys[index], values[index]);
+                views[index] = view;
+            }
+            return view;
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package ru.vzotov.fx.utils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bulk computations over the values of data points. Arrays and lists of more than {@link #PARALLEL_THRESHOLD}
+ * points are processed in parallel on the common fork/join pool, unless the pool has a single thread.
+ * <p>
+ * The parallel operations on lists read all values into an array on the calling thread, compute on the array
+ * in parallel and write the results back, again on the calling thread.
+ * <p>
+ * Only a {@link DataSeries} is updated in one batch: it is read and written through its columns and fires
+ * a single change event. The points of any other list are written one by one, and each value property
+ * that is observed notifies its listeners, i.e. up to one notification per point.
+ */
+public class DataUtils {
+
+    public static final int PARALLEL_THRESHOLD = 100_000;
+
+    private static boolean isParallel(int size) {
+        return size > PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Small lists of points are cheaper to process in place than through an array
+     */
+    private static boolean isDirect(List<? extends Data<?, ?>> data) {
+        return !(data instanceof DataSeries) && !isParallel(data.size());
+    }
+
+    public static double sum(double[] values) {
+        if (isParallel(values.length)) {
+            return Arrays.stream(values).parallel().sum();
+        }
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Replaces every value with its share of the total of the values.
+     *
+     * @param values the values
+     */
+    public static void shareOfTotal(double[] values) {
+        final double total = sum(values);
+        if (isParallel(values.length)) {
+            Arrays.parallelSetAll(values, i -> values[i] / total);
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                values[i] /= total;
+            }
+        }
+    }
+
+    /**
+     * Replaces every value with the sum of the values up to and including it.
+     *
+     * @param values the values
+     */
+    public static void runningSum(double[] values) {
+        if (isParallel(values.length)) {
+            Arrays.parallelPrefix(values, Double::sum);
+        } else {
+            for (int i = 1; i < values.length; i++) {
+                values[i] += values[i - 1];
+            }
+        }
+    }
+
+    public static double sum(List<? extends Data<?, ?>> data) {
+        if (isDirect(data)) {
+            double sum = 0;
+            for (Data<?, ?> point : data) {
+                sum += point.getValue();
+            }
+            return sum;
+        }
+        return sum(values(data));
+    }
+
+    /**
+     * Replaces the value of every point with its share of the total of the values.
+     *
+     * @param data the points
+     */
+    public static void shareOfTotal(List<? extends Data<?, ?>> data) {
+        if (isDirect(data)) {
+            final double total = sum(data);
+            for (Data<?, ?> point : data) {
+                point.setValue(point.getValue() / total);
+            }
+            return;
+        }
+        final double[] values = values(data);
+        shareOfTotal(values);
+        setValues(data, values);
+    }
+
+    /**
+     * Replaces the value of every point with the sum of the values up to and including it.
+     *
+     * @param data the points
+     */
+    public static void runningSum(List<? extends Data<?, ?>> data) {
+        if (isDirect(data)) {
+            double sum = 0;
+            for (Data<?, ?> point : data) {
+                sum += point.getValue();
+                point.setValue(sum);
+            }
+            return;
+        }
+        final double[] values = values(data);
+        runningSum(values);
+        setValues(data, values);
+    }
+
+    /**
+     * @param data the points
+     * @return the values of the points
+     */
+    public static double[] values(List<? extends Data<?, ?>> data) {
+        if (data instanceof DataSeries<?, ?> series) {
+            return series.toValueArray();
+        }
+        // the values are properties, possibly bound or observed: they are read on the calling thread only
+        final double[] values = new double[data.size()];
+        int i = 0;
+        for (Data<?, ?> point : data) {
+            values[i++] = point.getValue();
+        }
+        return values;
+    }
+
+    /**
+     * Sets the values of the points, on the calling thread. A {@link DataSeries} fires a single change event,
+     * the points of other lists notify their observers one by one.
+     *
+     * @param data   the points
+     * @param values the new values, as many as points
+     */
+    public static void setValues(List<? extends Data<?, ?>> data, double[] values) {
+        if (data.size() != values.length) {
+            throw new IllegalArgumentException("The number of points and values must be the same");
+        }
+        if (data instanceof DataSeries<?, ?> series) {
+            series.setValues(0, values, 0, values.length);
+            return;
+        }
+        int i = 0;
+        for (Data<?, ?> point : data) {
+            point.setValue(values[i++]);
+        }
+    }
+}
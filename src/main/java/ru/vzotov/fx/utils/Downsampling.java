@@ -0,0 +1,326 @@
+package ru.vzotov.fx.utils;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import javafx.collections.WeakListChangeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Observable list of at most a target number of points selected from a source list, for charts that can not
+ * render every point. The source points are split by index into buckets of equal width, and every bucket
+ * contributes its selected points:
+ * <ul>
+ *     <li>{@link #minMax(ObservableList, int) min-max} selects the points with the minimum and the maximum value,
+ *     so spikes are never lost;</li>
+ *     <li>{@link #lttb(ObservableList, ToDoubleFunction, int) LTTB} (largest triangle three buckets) selects the point
+ *     forming the largest triangle with the point selected in the previous bucket and the average of the next bucket,
+ *     which keeps the visual shape of the series.</li>
+ * </ul>
+ * The list listens to its source and only rescans the buckets of the changed points, so appending points or updating
+ * their values costs O(changed) plus a comparison of the selected points. Inserting or removing points in the middle
+ * of the source shifts the following points, so all buckets after the change are rescanned. The bucket width doubles
+ * when the source outgrows the target, which rescans all points, amortized over the appends that caused it.
+ * <p>
+ * The list must be used on the thread that modifies the source.
+ *
+ * @param <X> the type of the x-keys
+ * @param <N> the type of the nodes
+ */
+public class Downsampling<X, N> extends ObservableListBase<Data<X, N>> {
+
+    private final ObservableList<? extends Data<X, N>> source;
+    private final ToDoubleFunction<? super X> xValue;
+    private final int maxBuckets;
+
+    private final List<Data<X, N>> points = new ArrayList<>();
+
+    private int width = 1;
+    private int bucketCount;
+
+    /**
+     * Selected source indices of each bucket: the only point for LTTB, the minimum and the maximum for min-max
+     */
+    private int[] first;
+    private int[] second;
+
+    /**
+     * Averages of the buckets, for LTTB
+     */
+    private double[] averageX;
+    private double[] averageY;
+
+    private final ListChangeListener<Data<X, N>> sourceListener = this::sourceChanged;
+
+    @SuppressWarnings("unchecked")
+    private Downsampling(ObservableList<? extends Data<X, N>> source, ToDoubleFunction<? super X> xValue, int maxBuckets) {
+        this.source = Objects.requireNonNull(source);
+        this.xValue = xValue;
+        this.maxBuckets = maxBuckets;
+        this.first = new int[maxBuckets];
+        if (xValue == null) {
+            this.second = new int[maxBuckets];
+        } else {
+            this.averageX = new double[maxBuckets];
+            this.averageY = new double[maxBuckets];
+        }
+        ((ObservableList<Data<X, N>>) source).addListener(new WeakListChangeListener<>(sourceListener));
+        fitWidth();
+        rescan(0, bucketCount - 1);
+        for (int index : selection()) {
+            points.add(point(index));
+        }
+    }
+
+    /**
+     * Downsamples by the minimum and the maximum value of each bucket.
+     *
+     * @param source      the points to downsample
+     * @param targetCount the maximum number of points of the list, at least 2
+     * @param <X>         the type of the x-keys
+     * @param <N>         the type of the nodes
+     * @return the downsampled list
+     */
+    public static <X, N> Downsampling<X, N> minMax(ObservableList<? extends Data<X, N>> source, int targetCount) {
+        if (targetCount < 2) {
+            throw new IllegalArgumentException("The target count must be at least 2");
+        }
+        return new Downsampling<>(source, null, targetCount / 2);
+    }
+
+    /**
+     * Downsamples with the largest triangle three buckets algorithm.
+     *
+     * @param source      the points to downsample
+     * @param xValue      the position of an x-key on the x axis
+     * @param targetCount the maximum number of points of the list, at least 3
+     * @param <X>         the type of the x-keys
+     * @param <N>         the type of the nodes
+     * @return the downsampled list
+     */
+    public static <X, N> Downsampling<X, N> lttb(ObservableList<? extends Data<X, N>> source, ToDoubleFunction<? super X> xValue, int targetCount) {
+        if (targetCount < 3) {
+            throw new IllegalArgumentException("The target count must be at least 3");
+        }
+        return new Downsampling<>(source, Objects.requireNonNull(xValue), targetCount);
+    }
+
+    @Override
+    public Data<X, N> get(int index) {
+        return points.get(index);
+    }
+
+    @Override
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * @return the number of source points in a bucket
+     */
+    public int getBucketWidth() {
+        return width;
+    }
+
+    private void sourceChanged(ListChangeListener.Change<? extends Data<X, N>> c) {
+        final int previousBuckets = bucketCount;
+        int from = Integer.MAX_VALUE;
+        int to = -1;
+        boolean shifted = false;
+        while (c.next()) {
+            from = Math.min(from, c.getFrom());
+            if (c.wasUpdated() || c.wasPermutated() || c.getAddedSize() == c.getRemovedSize()) {
+                to = Math.max(to, c.getTo());
+            } else {
+                shifted = true;
+            }
+        }
+        if (from == Integer.MAX_VALUE) {
+            return;
+        }
+        final int previousWidth = width;
+        fitWidth();
+        if (width != previousWidth) {
+            rescan(0, bucketCount - 1);
+        } else {
+            // the last bucket also changes its role when buckets are added or removed after it
+            int lo = Math.min(from / width, previousBuckets - 1);
+            final int hi = shifted || bucketCount != previousBuckets ? bucketCount - 1 : (to - 1) / width;
+            lo = Math.max(0, Math.min(lo, hi));
+            rescan(lo, hi);
+        }
+        publish();
+    }
+
+    /**
+     * Chooses the bucket width so that the buckets fit, halving it only when at most half of the buckets would be used
+     */
+    private void fitWidth() {
+        final int size = source.size();
+        while (buckets(size, width) > maxBuckets) {
+            width *= 2;
+        }
+        while (width > 1 && buckets(size, width / 2) <= maxBuckets / 2) {
+            width /= 2;
+        }
+        bucketCount = buckets(size, width);
+    }
+
+    private static int buckets(int size, int width) {
+        return (size + width - 1) / width;
+    }
+
+    private void rescan(int lo, int hi) {
+        if (bucketCount == 0) {
+            return;
+        }
+        if (xValue == null) {
+            for (int j = lo; j <= hi; j++) {
+                scanMinMax(j);
+            }
+            return;
+        }
+        for (int j = lo; j <= hi; j++) {
+            scanAverage(j);
+        }
+        // a bucket depends on the average of the next one and on the point selected in the previous one,
+        // which may have changed even if its index did not, so the selection propagates past the range
+        int j = Math.max(0, lo - 1);
+        while (j < bucketCount) {
+            final int previous = first[j];
+            selectLargestTriangle(j);
+            if (j > hi && first[j] == previous) {
+                break;
+            }
+            j++;
+        }
+    }
+
+    private void scanMinMax(int bucket) {
+        final int from = bucket * width;
+        final int to = Math.min(source.size(), from + width);
+        int min = from;
+        int max = from;
+        double minValue = DataPoints.value(source, from);
+        double maxValue = minValue;
+        for (int i = from + 1; i < to; i++) {
+            final double value = DataPoints.value(source, i);
+            if (value < minValue) {
+                min = i;
+                minValue = value;
+            } else if (value > maxValue) {
+                max = i;
+                maxValue = value;
+            }
+        }
+        first[bucket] = Math.min(min, max);
+        second[bucket] = Math.max(min, max);
+    }
+
+    private void scanAverage(int bucket) {
+        final int from = bucket * width;
+        final int to = Math.min(source.size(), from + width);
+        double sumX = 0;
+        double sumY = 0;
+        for (int i = from; i < to; i++) {
+            sumX += xValue.applyAsDouble(DataPoints.x(source, i));
+            sumY += DataPoints.value(source, i);
+        }
+        averageX[bucket] = sumX / (to - from);
+        averageY[bucket] = sumY / (to - from);
+    }
+
+    private void selectLargestTriangle(int bucket) {
+        final int from = bucket * width;
+        final int to = Math.min(source.size(), from + width);
+        if (bucket == 0) {
+            first[bucket] = from;
+            return;
+        }
+        if (bucket == bucketCount - 1) {
+            first[bucket] = to - 1;
+            return;
+        }
+        final int a = first[bucket - 1];
+        final double ax = xValue.applyAsDouble(DataPoints.x(source, a));
+        final double ay = DataPoints.value(source, a);
+        final double cx = averageX[bucket + 1];
+        final double cy = averageY[bucket + 1];
+        int selected = from;
+        double largest = -1;
+        for (int i = from; i < to; i++) {
+            final double x = xValue.applyAsDouble(DataPoints.x(source, i));
+            final double y = DataPoints.value(source, i);
+            final double area = Math.abs((ax - cx) * (y - ay) - (ax - x) * (cy - ay));
+            if (area > largest) {
+                largest = area;
+                selected = i;
+            }
+        }
+        first[bucket] = selected;
+    }
+
+    private int[] selection() {
+        final int[] result = new int[second == null ? bucketCount : bucketCount * 2];
+        int count = 0;
+        for (int j = 0; j < bucketCount; j++) {
+            result[count++] = first[j];
+            if (second != null && second[j] != first[j]) {
+                result[count++] = second[j];
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private Data<X, N> point(int index) {
+        return new Data<>(DataPoints.x(source, index), DataPoints.value(source, index));
+    }
+
+    private boolean isSame(int position, int index) {
+        final Data<X, N> point = points.get(position);
+        return Objects.equals(point.getX(), DataPoints.x(source, index))
+                && Double.compare(point.getValue(), DataPoints.value(source, index)) == 0;
+    }
+
+    /**
+     * Replaces the range between the unchanged prefix and suffix of the selected points
+     */
+    private void publish() {
+        final int[] indices = selection();
+        final int oldSize = points.size();
+        int prefix = 0;
+        while (prefix < oldSize && prefix < indices.length && isSame(prefix, indices[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < oldSize - prefix && suffix < indices.length - prefix
+                && isSame(oldSize - 1 - suffix, indices[indices.length - 1 - suffix])) {
+            suffix++;
+        }
+        final int removedTo = oldSize - suffix;
+        final int addedTo = indices.length - suffix;
+        if (prefix == removedTo && prefix == addedTo) {
+            return;
+        }
+        beginChange();
+        final List<Data<X, N>> removed = new ArrayList<>(points.subList(prefix, removedTo));
+        final List<Data<X, N>> added = new ArrayList<>(addedTo - prefix);
+        for (int i = prefix; i < addedTo; i++) {
+            added.add(point(indices[i]));
+        }
+        points.subList(prefix, removedTo).clear();
+        points.addAll(prefix, added);
+        if (!removed.isEmpty()) {
+            nextRemove(prefix, removed);
+        }
+        if (!added.isEmpty()) {
+            nextAdd(prefix, addedTo);
+        }
+        endChange();
+    }
+}
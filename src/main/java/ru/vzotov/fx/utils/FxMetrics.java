@@ -0,0 +1,65 @@
+package ru.vzotov.fx.utils;
+
+/**
+ * Receiver of measurements of the work fx-utils does on the JavaFX Application Thread.
+ * Metrics are opt-in and selected once, when fx-utils is first used, by the system property
+ * {@value #PROPERTY}:
+ * <ul>
+ *     <li>not set: metrics are disabled, and the instrumented code only checks a constant;</li>
+ *     <li>{@code jfr}: the measurements are recorded as JDK Flight Recorder events, under the {@code fx-utils} category.
+ *     On the module path, the {@code jdk.jfr} module must be resolved, e.g. with {@code --add-modules jdk.jfr};</li>
+ *     <li>the name of a class implementing this interface, provided as a service, e.g. in {@code META-INF/services}.</li>
+ * </ul>
+ * The callbacks are called on the thread doing the work, mostly the JavaFX Application Thread, and must be cheap.
+ * All of them do nothing by default.
+ */
+public interface FxMetrics {
+
+    /**
+     * System property selecting the metrics
+     */
+    String PROPERTY = "ru.vzotov.fx.utils.metrics";
+
+    /**
+     * A conversion of a {@link ConversionBinding} after a change of one of its properties.
+     *
+     * @param toSource whether the value of the target was converted to the source, or the other way round
+     * @param nanos    the time spent in the conversion function
+     * @param failure  the exception thrown by the conversion function, or null if it succeeded
+     */
+    default void conversion(boolean toSource, long nanos, Throwable failure) {
+    }
+
+    /**
+     * A parse of the text of a {@link ValueTextField} by its skin.
+     *
+     * @param nanos the time spent parsing
+     */
+    default void parse(long nanos) {
+    }
+
+    /**
+     * A format of the value of a {@link ValueTextField} by its skin.
+     *
+     * @param nanos the time spent formatting
+     */
+    default void format(long nanos) {
+    }
+
+    /**
+     * An opening of the popup of a {@link CustomComboBox}.
+     *
+     * @param nanos the time spent in {@link CustomComboBoxSkin#showPopup()}
+     */
+    default void popupShown(long nanos) {
+    }
+
+    /**
+     * An update of a cell by {@link CellUtils#updateItem(javafx.scene.control.Cell, javafx.util.StringConverter,
+     * javafx.scene.layout.HBox, javafx.scene.Node, javafx.scene.control.TextField)}.
+     *
+     * @param applied whether the cell changed, or already showed the item
+     */
+    default void cellUpdated(boolean applied) {
+    }
+}
@@ -7,10 +7,13 @@ import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.RowConstraints;
+import javafx.util.Duration;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 import static javafx.scene.layout.Region.USE_COMPUTED_SIZE;
@@ -194,18 +197,77 @@ public class GridPaneBuilder {
     }
 
     public GridPane build() {
+        final GridPane grid = columns();
+
+        if (!rows.isEmpty()) grid.getRowConstraints().setAll(rows);
+        if (!children.isEmpty()) grid.getChildren().setAll(children);
+
+        return grid;
+    }
+
+    /**
+     * Same as {@link #buildIncrementally(int, Duration)} with the {@link IncrementalGridBuild#DEFAULT_BUDGET default budget}.
+     *
+     * @param initialRows the number of rows added at once, those visible when the form opens
+     * @return the build
+     */
+    public IncrementalGridBuild buildIncrementally(int initialRows) {
+        return buildIncrementally(initialRows, IncrementalGridBuild.DEFAULT_BUDGET);
+    }
+
+    /**
+     * Builds the grid with the children of the first rows only, and adds the other children on the following pulses,
+     * so that a large form opens without blocking the JavaFX Application Thread.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param initialRows the number of rows added at once, those visible when the form opens
+     * @param budget      the time per pulse spent on adding children
+     * @return the build
+     * @throws IllegalArgumentException if the number of rows is negative or the budget is not a finite positive duration
+     */
+    public IncrementalGridBuild buildIncrementally(int initialRows, Duration budget) {
+        final GridPane grid = columns();
+
+        if (!rows.isEmpty()) grid.getRowConstraints().setAll(rows);
+
+        return new IncrementalGridBuild(grid, children, initialRows, Objects.requireNonNull(budget));
+    }
+
+    /**
+     * Creates a virtualized grid with the gaps and the columns of this builder, for forms with too many rows
+     * to create them all. The rows come from the row factory and only the rows in the viewport are created;
+     * the rows and the children added to this builder are not used.
+     *
+     * @param rowFactory the factory of the rows, called only while the viewport needs more rows
+     * @return the grid, with a row count of zero
+     * @see VirtualGridPane
+     */
+    public VirtualGridPane virtual(Supplier<? extends VirtualGridPane.Row> rowFactory) {
+        return new VirtualGridPane(columns(), rowFactory);
+    }
+
+    private GridPane columns() {
         final GridPane grid = new GridPane();
 
         if (!Double.isNaN(hgap)) grid.setHgap(hgap);
         if (!Double.isNaN(vgap)) grid.setVgap(vgap);
         if (minWidth != USE_COMPUTED_SIZE) grid.setMinWidth(minWidth);
         if (!columns.isEmpty()) grid.getColumnConstraints().setAll(columns);
-        if (!rows.isEmpty()) grid.getRowConstraints().setAll(rows);
-        if (!children.isEmpty()) grid.getChildren().setAll(children);
 
         return grid;
     }
 
+    /**
+     * Freezes the current configuration into a template: the gaps, the column and row constraints and the cells
+     * of the children added so far. The children themselves are not part of the template, every grid created
+     * from it gets new ones.
+     *
+     * @return the template
+     */
+    public GridPaneTemplate template() {
+        return new GridPaneTemplate(hgap, vgap, minWidth, columns, rows, children);
+    }
+
     public interface GridPaneColumnBuilder {
         GridPaneColumnBuilder minWidth(double width);
 
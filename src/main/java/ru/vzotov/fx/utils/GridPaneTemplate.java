@@ -0,0 +1,201 @@
+package ru.vzotov.fx.utils;
+
+import javafx.geometry.HPos;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.RowConstraints;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static javafx.scene.layout.Region.USE_COMPUTED_SIZE;
+
+/**
+ * Immutable layout of a {@link GridPane}, frozen from a {@link GridPaneBuilder} with {@link GridPaneBuilder#template()}.
+ * The template keeps the gaps, the column and row constraints and the cells of the children as plain values,
+ * and stamps out grids with fresh child nodes, without going through the builder again.
+ * <p>
+ * Every grid gets its own copies of the constraints, so changing the constraints of one grid does not affect the others.
+ *
+ * @see GridPaneBuilder#template()
+ */
+public final class GridPaneTemplate {
+
+    /**
+     * Position of a child in the grid
+     *
+     * @param index      the index of the child in the grid's children
+     * @param column     the column index
+     * @param row        the row index
+     * @param columnSpan the number of columns spanned
+     * @param rowSpan    the number of rows spanned
+     * @param halignment the horizontal alignment in the cell, or {@code null} for the column's alignment
+     * @param valignment the vertical alignment in the cell, or {@code null} for the row's alignment
+     */
+    public record Cell(int index, int column, int row, int columnSpan, int rowSpan, HPos halignment, VPos valignment) {
+
+        void applyTo(Node child) {
+            if (child.hasProperties()) {
+                // clear whatever the node carries from a previous grid
+                GridPane.setConstraints(child, column, row, columnSpan, rowSpan, halignment, valignment);
+                return;
+            }
+            // the grid reads a missing constraint as the default, so only the other values are stored
+            if (column != 0) GridPane.setColumnIndex(child, column);
+            if (row != 0) GridPane.setRowIndex(child, row);
+            if (columnSpan != 1) GridPane.setColumnSpan(child, columnSpan);
+            if (rowSpan != 1) GridPane.setRowSpan(child, rowSpan);
+            if (halignment != null) GridPane.setHalignment(child, halignment);
+            if (valignment != null) GridPane.setValignment(child, valignment);
+        }
+    }
+
+    private record ColumnSpec(double minWidth, double prefWidth, double maxWidth, double percentWidth,
+                              Priority hgrow, HPos halignment, boolean fillWidth) {
+
+        static ColumnSpec of(ColumnConstraints c) {
+            return new ColumnSpec(c.getMinWidth(), c.getPrefWidth(), c.getMaxWidth(), c.getPercentWidth(),
+                    c.getHgrow(), c.getHalignment(), c.isFillWidth());
+        }
+
+        /**
+         * Sets only the values that differ from the defaults, the properties of the constraints are created on first set
+         */
+        ColumnConstraints create() {
+            final ColumnConstraints result = new ColumnConstraints();
+            if (minWidth != USE_COMPUTED_SIZE) result.setMinWidth(minWidth);
+            if (prefWidth != USE_COMPUTED_SIZE) result.setPrefWidth(prefWidth);
+            if (maxWidth != USE_COMPUTED_SIZE) result.setMaxWidth(maxWidth);
+            if (percentWidth != -1) result.setPercentWidth(percentWidth);
+            if (hgrow != null) result.setHgrow(hgrow);
+            if (halignment != null) result.setHalignment(halignment);
+            if (!fillWidth) result.setFillWidth(false);
+            return result;
+        }
+    }
+
+    private record RowSpec(double minHeight, double prefHeight, double maxHeight, double percentHeight,
+                           Priority vgrow, VPos valignment, boolean fillHeight) {
+
+        static RowSpec of(RowConstraints r) {
+            return new RowSpec(r.getMinHeight(), r.getPrefHeight(), r.getMaxHeight(), r.getPercentHeight(),
+                    r.getVgrow(), r.getValignment(), r.isFillHeight());
+        }
+
+        RowConstraints create() {
+            final RowConstraints result = new RowConstraints();
+            if (minHeight != USE_COMPUTED_SIZE) result.setMinHeight(minHeight);
+            if (prefHeight != USE_COMPUTED_SIZE) result.setPrefHeight(prefHeight);
+            if (maxHeight != USE_COMPUTED_SIZE) result.setMaxHeight(maxHeight);
+            if (percentHeight != -1) result.setPercentHeight(percentHeight);
+            if (vgrow != null) result.setVgrow(vgrow);
+            if (valignment != null) result.setValignment(valignment);
+            if (!fillHeight) result.setFillHeight(false);
+            return result;
+        }
+    }
+
+    private final double hgap;
+    private final double vgap;
+    private final double minWidth;
+    private final ColumnSpec[] columns;
+    private final RowSpec[] rows;
+    private final Cell[] cells;
+    private final List<Cell> cellList;
+
+    GridPaneTemplate(double hgap, double vgap, double minWidth,
+                     List<ColumnConstraints> columns, List<RowConstraints> rows, List<Node> children) {
+        this.hgap = hgap;
+        this.vgap = vgap;
+        this.minWidth = minWidth;
+        this.columns = columns.stream().map(ColumnSpec::of).toArray(ColumnSpec[]::new);
+        this.rows = rows.stream().map(RowSpec::of).toArray(RowSpec[]::new);
+        final Cell[] result = new Cell[children.size()];
+        for (int i = 0; i < result.length; i++) {
+            final Node child = children.get(i);
+            result[i] = new Cell(i,
+                    valueOf(GridPane.getColumnIndex(child), 0),
+                    valueOf(GridPane.getRowIndex(child), 0),
+                    valueOf(GridPane.getColumnSpan(child), 1),
+                    valueOf(GridPane.getRowSpan(child), 1),
+                    GridPane.getHalignment(child),
+                    GridPane.getValignment(child));
+        }
+        this.cells = result;
+        this.cellList = List.of(result);
+    }
+
+    private static int valueOf(Integer value, int defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * @return the cells of the children, in the order of the children
+     */
+    public List<Cell> getCells() {
+        return cellList;
+    }
+
+    public int columnCount() {
+        return columns.length;
+    }
+
+    public int rowCount() {
+        return rows.length;
+    }
+
+    /**
+     * Creates a grid, with children depending on their cells.
+     *
+     * @param children the function creating the child of a cell. It must return a new node for every cell.
+     * @return the grid
+     */
+    public GridPane createPerCell(Function<? super Cell, ? extends Node> children) {
+        final GridPane grid = new GridPane();
+
+        if (!Double.isNaN(hgap)) grid.setHgap(hgap);
+        if (!Double.isNaN(vgap)) grid.setVgap(vgap);
+        if (minWidth != USE_COMPUTED_SIZE) grid.setMinWidth(minWidth);
+        if (columns.length > 0) {
+            final ColumnConstraints[] constraints = new ColumnConstraints[columns.length];
+            for (int i = 0; i < constraints.length; i++) {
+                constraints[i] = columns[i].create();
+            }
+            grid.getColumnConstraints().setAll(constraints);
+        }
+        if (rows.length > 0) {
+            final RowConstraints[] constraints = new RowConstraints[rows.length];
+            for (int i = 0; i < constraints.length; i++) {
+                constraints[i] = rows[i].create();
+            }
+            grid.getRowConstraints().setAll(constraints);
+        }
+        if (cells.length > 0) {
+            final Node[] nodes = new Node[cells.length];
+            for (int i = 0; i < nodes.length; i++) {
+                final Cell cell = cells[i];
+                final Node child = Objects.requireNonNull(children.apply(cell));
+                cell.applyTo(child);
+                nodes[i] = child;
+            }
+            grid.getChildren().setAll(nodes);
+        }
+
+        return grid;
+    }
+
+    /**
+     * Creates a grid.
+     *
+     * @param children the supplier of the children, called once for every cell, in the order of the cells
+     * @return the grid
+     */
+    public GridPane create(Supplier<? extends Node> children) {
+        return createPerCell(cell -> children.get());
+    }
+}
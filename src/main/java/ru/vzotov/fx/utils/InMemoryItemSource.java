@@ -0,0 +1,31 @@
+package ru.vzotov.fx.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link ItemSource} over a list held in memory, for tests and small catalogs.
+ *
+ * @param <T> the type of the items
+ */
+public class InMemoryItemSource<T> implements ItemSource<T> {
+
+    private final List<T> items;
+
+    public InMemoryItemSource(List<T> items) {
+        this.items = List.copyOf(Objects.requireNonNull(items));
+    }
+
+    @Override
+    public int count() {
+        return items.size();
+    }
+
+    @Override
+    public List<T> fetch(int offset, int limit) {
+        final int from = Math.max(0, Math.min(offset, items.size()));
+        final int to = Math.min(items.size(), from + Math.max(0, limit));
+        return new ArrayList<>(items.subList(from, to));
+    }
+}
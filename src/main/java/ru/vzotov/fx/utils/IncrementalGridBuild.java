@@ -0,0 +1,169 @@
+package ru.vzotov.fx.utils;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.scene.Node;
+import javafx.scene.layout.GridPane;
+import javafx.util.Duration;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Grid populated over several pulses, built by {@link GridPaneBuilder#buildIncrementally(int, Duration)}
+ * for forms too large to add all children in one pulse without freezing the window.
+ * The children of the rows above the fold are added when the build starts, so that they are shown on the next pulse.
+ * The other children are added row by row, in order, on the following pulses. Each pulse adds as many rows
+ * as fit into the time budget, estimated from the time it took to add the previous rows and apply CSS to them.
+ * Every pulse also lays out the whole grid, so once that takes longer than a frame, a pulse adds at least half as many
+ * rows as the grid already has, which keeps the number of these slow pulses logarithmic in the number of rows.
+ * <p>
+ * The build must be started and used on the JavaFX Application Thread.
+ */
+public class IncrementalGridBuild {
+
+    /**
+     * Default time per pulse spent on adding children, leaving the rest of a 60 Hz frame to layout and rendering
+     */
+    public static final Duration DEFAULT_BUDGET = Duration.millis(4);
+
+    private static final long FRAME_NANOS = 1_000_000_000L / 60;
+
+    private final GridPane grid;
+    private final Node[] children;
+    private final long budgetNanos;
+    private final CompletableFuture<GridPane> completion = new CompletableFuture<>();
+    private final ReadOnlyDoubleWrapper progress = new ReadOnlyDoubleWrapper(this, "progress", 0);
+    private final Pulse pulse = new Pulse();
+
+    private int added;
+    private int addedRows;
+    private double nanosPerRow = Double.NaN;
+
+    IncrementalGridBuild(GridPane grid, List<Node> children, int initialRows, Duration budget) {
+        if (initialRows < 0) {
+            throw new IllegalArgumentException("Number of initial rows must not be negative");
+        }
+        if (budget.isUnknown() || budget.isIndefinite() || !budget.greaterThan(Duration.ZERO)) {
+            throw new IllegalArgumentException("Budget must be a finite positive duration");
+        }
+        this.grid = grid;
+        this.budgetNanos = (long) (budget.toMillis() * 1_000_000);
+        this.children = children.toArray(new Node[0]);
+        // stable, so the children of a row keep the order they were added in
+        Arrays.sort(this.children, Comparator.comparingInt(IncrementalGridBuild::rowOf));
+
+        int end = 0;
+        while (end < this.children.length && rowOf(this.children[end]) < initialRows) {
+            end++;
+        }
+        addChildren(end);
+        addedRows = initialRows;
+        completion.whenComplete((result, error) -> pulse.stop());
+        if (!completion.isDone()) {
+            pulse.start();
+        }
+    }
+
+    private static int rowOf(Node child) {
+        final Integer row = GridPane.getRowIndex(child);
+        return row == null ? 0 : row;
+    }
+
+    /**
+     * @return the grid, with the children added so far
+     */
+    public GridPane getGrid() {
+        return grid;
+    }
+
+    /**
+     * @return the future completed with the grid once all children are added. Cancelling it stops the build.
+     */
+    public CompletableFuture<GridPane> getCompletion() {
+        return completion;
+    }
+
+    // progress
+
+    public double getProgress() {
+        return progress.get();
+    }
+
+    /**
+     * @return the part of the children added so far, from 0 to 1
+     */
+    public ReadOnlyDoubleProperty progressProperty() {
+        return progress.getReadOnlyProperty();
+    }
+
+    /**
+     * Adds all the remaining children now, e.g. before the form is validated or saved.
+     */
+    public void finish() {
+        if (!completion.isDone()) {
+            addChildren(children.length);
+        }
+    }
+
+    /**
+     * Stops adding children. The grid keeps the children added so far and the completion is cancelled.
+     */
+    public void cancel() {
+        completion.cancel(false);
+    }
+
+    private void addChildren(int end) {
+        if (end > added) {
+            grid.getChildren().addAll(Arrays.asList(children).subList(added, end));
+            added = end;
+        }
+        progress.set(children.length == 0 ? 1 : (double) added / children.length);
+        if (added == children.length) {
+            completion.complete(grid);
+        }
+    }
+
+    /**
+     * Adds the rows that fit into the budget, then applies CSS to them, so that the next estimate
+     * includes the styling of the rows and not only the change of the children list
+     */
+    private void addRows(boolean slowFrame) {
+        final long start = System.nanoTime();
+        int rows = Double.isNaN(nanosPerRow) ? 1 : (int) Math.max(1, budgetNanos / nanosPerRow);
+        if (slowFrame) {
+            rows = Math.max(rows, addedRows / 2);
+        }
+        int end = added;
+        int count = 0;
+        while (count < rows && end < children.length) {
+            final int row = rowOf(children[end]);
+            do {
+                end++;
+            } while (end < children.length && rowOf(children[end]) == row);
+            count++;
+        }
+        addedRows += count;
+        addChildren(end);
+        grid.applyCss();
+        final double elapsed = System.nanoTime() - start;
+        nanosPerRow = Double.isNaN(nanosPerRow) ? elapsed / count : (nanosPerRow + elapsed / count) / 2;
+    }
+
+    /**
+     * Adds the next rows on every pulse, while rows are pending
+     */
+    private final class Pulse extends AnimationTimer {
+        private long last = Long.MIN_VALUE;
+
+        @Override
+        public void handle(long now) {
+            final boolean slowFrame = last != Long.MIN_VALUE && now - last > 2 * FRAME_NANOS;
+            last = now;
+            addRows(slowFrame);
+        }
+    }
+}
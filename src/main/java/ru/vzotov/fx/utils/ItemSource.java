@@ -0,0 +1,28 @@
+package ru.vzotov.fx.utils;
+
+import java.util.List;
+
+/**
+ * Provider of items that are loaded on demand, page by page, e.g. from a local database.
+ * Both methods are called on a background thread and may block.
+ *
+ * @param <T> the type of the items
+ * @see PagedItemList
+ * @see CustomComboBox#itemSourceProperty()
+ */
+public interface ItemSource<T> {
+
+    /**
+     * @return the total number of items
+     */
+    int count();
+
+    /**
+     * Loads a range of items.
+     *
+     * @param offset the index of the first item
+     * @param limit  the maximum number of items to load
+     * @return the items, fewer than {@code limit} at the end of the source
+     */
+    List<T> fetch(int offset, int limit);
+}
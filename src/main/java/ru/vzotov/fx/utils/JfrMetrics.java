@@ -0,0 +1,127 @@
+package ru.vzotov.fx.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link FxMetrics} recording JDK Flight Recorder events, selected with {@code -Dru.vzotov.fx.utils.metrics=jfr}.
+ * Conversions and popup openings are recorded one event each, with their latency.
+ * Parses, formats and cell updates are too frequent for that: they are counted, and the counts are recorded
+ * every second in one event.
+ */
+final class JfrMetrics implements FxMetrics {
+
+    private static final String CATEGORY = "fx-utils";
+
+    private final LongAdder parses = new LongAdder();
+    private final LongAdder formats = new LongAdder();
+    private final LongAdder appliedCellUpdates = new LongAdder();
+    private final LongAdder skippedCellUpdates = new LongAdder();
+
+    JfrMetrics() {
+        FlightRecorder.addPeriodicEvent(CountersEvent.class, this::recordCounters);
+    }
+
+    @Override
+    public void conversion(boolean toSource, long nanos, Throwable failure) {
+        final ConversionEvent event = new ConversionEvent();
+        if (event.isEnabled()) {
+            event.toSource = toSource;
+            event.latency = nanos;
+            event.failure = failure == null ? null : failure.toString();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void parse(long nanos) {
+        parses.increment();
+    }
+
+    @Override
+    public void format(long nanos) {
+        formats.increment();
+    }
+
+    @Override
+    public void popupShown(long nanos) {
+        final PopupShownEvent event = new PopupShownEvent();
+        if (event.isEnabled()) {
+            event.latency = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void cellUpdated(boolean applied) {
+        (applied ? appliedCellUpdates : skippedCellUpdates).increment();
+    }
+
+    private void recordCounters() {
+        final CountersEvent event = new CountersEvent();
+        event.parses = parses.sumThenReset();
+        event.formats = formats.sumThenReset();
+        event.appliedCellUpdates = appliedCellUpdates.sumThenReset();
+        event.skippedCellUpdates = skippedCellUpdates.sumThenReset();
+        if (event.parses + event.formats + event.appliedCellUpdates + event.skippedCellUpdates > 0) {
+            event.commit();
+        }
+    }
+
+    @Name("ru.vzotov.fx.utils.Conversion")
+    @Label("Conversion")
+    @Description("Conversion of a ConversionBinding after a change of one of its properties")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class ConversionEvent extends Event {
+        @Label("To Source")
+        boolean toSource;
+
+        @Label("Latency")
+        @Timespan
+        long latency;
+
+        @Label("Failure")
+        String failure;
+    }
+
+    @Name("ru.vzotov.fx.utils.PopupShown")
+    @Label("Popup Shown")
+    @Description("Opening of the popup of a CustomComboBox")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class PopupShownEvent extends Event {
+        @Label("Latency")
+        @Timespan
+        long latency;
+    }
+
+    @Name("ru.vzotov.fx.utils.Counters")
+    @Label("Counters")
+    @Description("Numbers of parses and formats of ValueTextField skins and of cell updates since the previous event")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    @Period("1 s")
+    static final class CountersEvent extends Event {
+        @Label("Parses")
+        long parses;
+
+        @Label("Formats")
+        long formats;
+
+        @Label("Applied Cell Updates")
+        long appliedCellUpdates;
+
+        @Label("Skipped Cell Updates")
+        long skippedCellUpdates;
+    }
+}
@@ -1,6 +1,7 @@
 package ru.vzotov.fx.utils;
 
 import javafx.collections.ObservableList;
+import javafx.css.PseudoClass;
 import javafx.css.Styleable;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
@@ -150,6 +151,77 @@ public class LayoutUtils {
         return styleable;
     }
 
+    /**
+     * Same as {@link #toggleWhen(Styleable, Map, Object)} with a precompiled map of style classes.
+     *
+     * @param styleable the node
+     * @param styles    the style classes and their values
+     * @param value     the selected value, or {@code null} to remove all style classes of the switch
+     * @param <T>       the type of the node
+     * @param <V>       the type of the values
+     * @return the node
+     */
+    public static <T extends Styleable, V> T toggleWhen(T styleable, StyleSwitch<V> styles, V value) {
+        styles.apply(styleable, value);
+        return styleable;
+    }
+
+    /**
+     * Pseudo class counterpart of {@link #toggle(Styleable, String, boolean)}, which does not change the style classes.
+     *
+     * @param node        the node
+     * @param pseudoClass the pseudo class
+     * @param value       whether the pseudo class is active
+     * @param <T>         the type of the node
+     * @return the node
+     */
+    public static <T extends Node> T toggle(T node, PseudoClass pseudoClass, boolean value) {
+        if (node != null) {
+            node.pseudoClassStateChanged(pseudoClass, value);
+        }
+        return node;
+    }
+
+    /**
+     * Pseudo class counterpart of {@link #toggleWhen(Styleable, StyleSwitch, Object)}.
+     *
+     * @param node          the node
+     * @param pseudoClasses the pseudo classes and their values
+     * @param value         the selected value, or {@code null} to deactivate all pseudo classes of the switch
+     * @param <T>           the type of the node
+     * @param <V>           the type of the values
+     * @return the node
+     */
+    public static <T extends Node, V> T toggleWhen(T node, PseudoClassSwitch<V> pseudoClasses, V value) {
+        pseudoClasses.apply(node, value);
+        return node;
+    }
+
+    /**
+     * Applies a batch of style class changes with at most one update of the style class list.
+     *
+     * @param styleable the node
+     * @param edit      the changes
+     * @param <T>       the type of the node
+     * @return the node
+     */
+    public static <T extends Styleable> T restyle(T styleable, StyleClassEdit edit) {
+        edit.apply(styleable);
+        return styleable;
+    }
+
+    /**
+     * Applies a batch of style class changes to many nodes, e.g. all cells of a table,
+     * with at most one update of the style class list of each node.
+     *
+     * @param styleables the nodes
+     * @param edit       the changes
+     * @return the number of nodes whose style classes changed
+     */
+    public static int restyleAll(Iterable<? extends Styleable> styleables, StyleClassEdit edit) {
+        return edit.applyAll(styleables);
+    }
+
     public static <N extends Toggle> N toggleGroup(N input, ToggleGroup group) {
         input.setToggleGroup(group);
         return input;
@@ -0,0 +1,202 @@
+package ru.vzotov.fx.utils;
+
+import javafx.collections.ObservableList;
+import javafx.css.PseudoClass;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.MultipleSelectionModel;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.util.StringConverter;
+
+import java.util.Objects;
+
+/**
+ * {@link CustomComboBoxSkin} with a virtualized list of items in the popup.
+ * The popup shows a {@link ListView}, which only creates cells for the visible rows and reuses them on scroll,
+ * so the cost of opening the popup does not depend on the number of items.
+ * Cells render items with the control's converter. Clicking an item or pressing enter commits it to
+ * the control's value and closes the popup.
+ * <p>
+ * Created without an explicit list, the skin shows the control's {@link CustomComboBox#getFilteredItems() filtered items},
+ * or, if the control has an {@link CustomComboBox#itemSourceProperty() item source}, a {@link PagedItemList} over it.
+ * Rows of a paged list whose page is not loaded yet show a placeholder and request their page.
+ * With {@link CustomComboBox#typeAheadProperty() type-ahead} enabled, typing opens the popup without taking
+ * the focus from the field, and the up/down/enter keys of the field navigate and commit the matching items.
+ *
+ * @param <T> the type of the items
+ */
+public class ListComboBoxSkin<T> extends CustomComboBoxSkin<T> {
+
+    public static final String STYLE_POPUP_LIST = "custom-combo-popup-list";
+    public static final String PLACEHOLDER_TEXT = "\u2026";
+
+    private static final PseudoClass PSEUDO_CLASS_LOADING = PseudoClass.getPseudoClass("loading");
+
+    private final CustomComboBox<T> control;
+    private final ListView<T> listView;
+
+    public ListComboBoxSkin(CustomComboBox<T> control) {
+        this(control, control.getFilteredItems());
+        registerChangeListener(control.itemSourceProperty(), e -> updateItemSource());
+        updateItemSource();
+    }
+
+    public ListComboBoxSkin(CustomComboBox<T> control, ObservableList<T> items) {
+        super(control);
+        this.control = control;
+        this.listView = LayoutUtils.styled(new ListView<>(Objects.requireNonNull(items)), STYLE_POPUP_LIST);
+        listView.setCellFactory(list -> createCell());
+        listView.addEventHandler(MouseEvent.MOUSE_RELEASED, e -> {
+            if (e.getButton() == MouseButton.PRIMARY && isOnItem(e)) {
+                commitSelection();
+                e.consume();
+            }
+        });
+        listView.addEventHandler(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == KeyCode.ENTER) {
+                commitSelection();
+                e.consume();
+            } else if (e.getCode() == KeyCode.ESCAPE) {
+                control.hide();
+                e.consume();
+            }
+        });
+
+        registerChangeListener(control.textProperty(), e -> {
+            if (control.isTypeAhead() && control.isFocused() && !control.isShowing()) {
+                control.show();
+            }
+        });
+        control.addEventFilter(KeyEvent.KEY_PRESSED, typeAheadKeyHandler);
+    }
+
+    private final EventHandler<KeyEvent> typeAheadKeyHandler = this::handleTypeAheadKey;
+
+    private void handleTypeAheadKey(KeyEvent e) {
+        if (!control.isTypeAhead() || !control.isShowing()) {
+            return;
+        }
+        final MultipleSelectionModel<T> selection = listView.getSelectionModel();
+        if (e.getCode() == KeyCode.DOWN) {
+            if (selection.getSelectedIndex() < listView.getItems().size() - 1) {
+                selection.selectNext();
+            }
+            listView.scrollTo(selection.getSelectedIndex());
+            e.consume();
+        } else if (e.getCode() == KeyCode.UP) {
+            selection.selectPrevious();
+            listView.scrollTo(selection.getSelectedIndex());
+            e.consume();
+        } else if (e.getCode() == KeyCode.ENTER) {
+            commitSelection();
+            e.consume();
+        } else if (e.getCode() == KeyCode.ESCAPE) {
+            control.hide();
+            e.consume();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (getSkinnable() != null) {
+            getSkinnable().removeEventFilter(KeyEvent.KEY_PRESSED, typeAheadKeyHandler);
+        }
+        super.dispose();
+    }
+
+    @Override
+    protected boolean isPopupFocusedOnShow() {
+        return !control.isTypeAhead();
+    }
+
+    public ListView<T> getListView() {
+        return listView;
+    }
+
+    /**
+     * Replaces the items shown in the popup. Only the visible cells are updated.
+     *
+     * @param items the new items
+     */
+    public void setItems(ObservableList<T> items) {
+        listView.setItems(Objects.requireNonNull(items));
+    }
+
+    private void updateItemSource() {
+        final ItemSource<T> source = control.getItemSource();
+        setItems(source == null ? control.getFilteredItems() : new PagedItemList<>(source));
+    }
+
+    @Override
+    protected Node getPopupContent() {
+        return listView;
+    }
+
+    @Override
+    protected void showPopup() {
+        final T value = control.getValue();
+        if (!Objects.equals(value, listView.getSelectionModel().getSelectedItem())) {
+            if (value == null) {
+                listView.getSelectionModel().clearSelection();
+            } else {
+                listView.getSelectionModel().select(value);
+            }
+        }
+        super.showPopup();
+        final int selected = listView.getSelectionModel().getSelectedIndex();
+        if (selected >= 0) {
+            listView.scrollTo(selected);
+        }
+        if (isPopupFocusedOnShow()) {
+            listView.requestFocus();
+        }
+    }
+
+    /**
+     * Creates a list cell. The list view reuses cells, so a cell must fully update itself in
+     * {@link ListCell#updateItem(Object, boolean)}.
+     *
+     * @return a new cell
+     */
+    protected ListCell<T> createCell() {
+        return new ListCell<>() {
+            @Override
+            protected void updateItem(T item, boolean empty) {
+                super.updateItem(item, empty);
+                final boolean loading = !empty && item == null
+                        && getListView().getItems() instanceof PagedItemList<T> paged && !paged.isLoaded(getIndex());
+                pseudoClassStateChanged(PSEUDO_CLASS_LOADING, loading);
+                if (loading) {
+                    setText(PLACEHOLDER_TEXT);
+                    ((PagedItemList<T>) getListView().getItems()).request(getIndex());
+                } else if (empty || item == null) {
+                    setText(null);
+                } else {
+                    final StringConverter<T> converter = control.getConverter();
+                    setText(converter == null ? item.toString() : converter.toString(item));
+                }
+            }
+        };
+    }
+
+    private boolean isOnItem(MouseEvent e) {
+        Node node = e.getPickResult().getIntersectedNode();
+        while (node != null && node != listView && !(node instanceof ListCell)) {
+            node = node.getParent();
+        }
+        return node instanceof ListCell<?> cell && !cell.isEmpty();
+    }
+
+    private void commitSelection() {
+        final T selected = listView.getSelectionModel().getSelectedItem();
+        if (selected != null) {
+            control.setValue(selected);
+        }
+        control.hide();
+    }
+}
@@ -0,0 +1,53 @@
+package ru.vzotov.fx.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * The {@link FxMetrics} selected by the system property {@value FxMetrics#PROPERTY}.
+ * Both fields are constants, so when metrics are disabled the JIT compiler removes the instrumentation
+ * guarded by {@code if (Metrics.ENABLED)}.
+ */
+final class Metrics {
+
+    private static final Logger log = LoggerFactory.getLogger(Metrics.class);
+
+    static final FxMetrics SINK = load(System.getProperty(FxMetrics.PROPERTY));
+
+    static final boolean ENABLED = SINK != null;
+
+    private Metrics() {
+    }
+
+    private static FxMetrics load(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        if ("jfr".equals(name)) {
+            try {
+                return new JfrMetrics();
+            } catch (LinkageError e) {
+                // jdk.jfr is an optional dependency, absent from runtimes linked without it
+                log.debug("JDK Flight Recorder is not available, metrics are disabled", e);
+                return null;
+            }
+        }
+        try {
+            final FxMetrics metrics = ServiceLoader.load(FxMetrics.class).stream()
+                    .filter(provider -> provider.type().getName().equals(name))
+                    .findFirst()
+                    .map(ServiceLoader.Provider::get)
+                    .orElse(null);
+            if (metrics == null) {
+                log.debug("Metrics provider {} not found, metrics are disabled", name);
+            }
+            return metrics;
+        } catch (Exception | ServiceConfigurationError e) {
+            log.debug("Exception while loading metrics provider {}, metrics are disabled", name, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package ru.vzotov.fx.utils;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.collections.ObservableListBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Read-only observable list over an {@link ItemSource}, loaded page by page on demand.
+ * The list has the size of the source, but only holds a bounded number of pages in memory,
+ * evicting the least recently used ones. {@link #get(int)} never loads anything and returns {@code null} for items
+ * that are not loaded yet; cells call {@link #request(int)} for the rows they show, which loads the page of
+ * the row and prefetches the next one. When a page arrives, a replace change is fired for its range,
+ * so that a {@link javafx.scene.control.ListView} updates the visible cells.
+ * <p>
+ * Pages are loaded on a background executor and published on the JavaFX Application Thread.
+ * All methods must be called on the JavaFX Application Thread.
+ *
+ * @param <T> the type of the items
+ */
+public class PagedItemList<T> extends ObservableListBase<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(PagedItemList.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int DEFAULT_MAX_PAGES = 20;
+
+    private final ItemSource<T> source;
+    private final int pageSize;
+    private final int maxPages;
+    private final Executor executor;
+    private final LinkedHashMap<Integer, List<T>> pages;
+    private final Set<Integer> loadingPages = new HashSet<>();
+
+    private int size;
+    private int generation;
+    private boolean counting;
+
+    public PagedItemList(ItemSource<T> source) {
+        this(source, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES, BackgroundExecutor.get());
+    }
+
+    /**
+     * @param source   the source of the items
+     * @param pageSize the number of items loaded at once
+     * @param maxPages the maximum number of pages kept in memory, at least three: a viewport spanning two pages
+     *                 and the prefetched next page
+     * @param executor the executor to load pages on
+     */
+    public PagedItemList(ItemSource<T> source, int pageSize, int maxPages, Executor executor) {
+        this.source = Objects.requireNonNull(source);
+        this.executor = Objects.requireNonNull(executor);
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        if (maxPages < 3) {
+            throw new IllegalArgumentException("At least three pages must fit in the cache");
+        }
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > PagedItemList.this.maxPages;
+            }
+        };
+        refresh();
+    }
+
+    // loading
+
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(this, "loading", false);
+
+    /**
+     * Indicates that the size or some pages are being loaded.
+     *
+     * @return the loading property
+     */
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+
+    public boolean isLoading() {
+        return loading.get();
+    }
+
+    /**
+     * Returns the item if its page is in memory.
+     *
+     * @param index the index of the item
+     * @return the item, or {@code null} if it is not loaded
+     */
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        final List<T> page = pages.get(index / pageSize);
+        if (page == null) {
+            return null;
+        }
+        final int offset = index % pageSize;
+        return offset < page.size() ? page.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public boolean isLoaded(int index) {
+        return index >= 0 && index < size && pages.containsKey(index / pageSize);
+    }
+
+    /**
+     * Loads the page of the item, if needed, and prefetches the next page.
+     *
+     * @param index the index of a shown item
+     */
+    public void request(int index) {
+        if (index < 0 || index >= size) {
+            return;
+        }
+        final int page = index / pageSize;
+        load(page);
+        if ((page + 1) * pageSize < size) {
+            load(page + 1);
+        }
+    }
+
+    /**
+     * Drops all pages and reloads the number of items from the source.
+     */
+    public void refresh() {
+        final int gen = ++generation;
+        pages.clear();
+        loadingPages.clear();
+        counting = true;
+        updateLoading();
+        CompletableFuture.supplyAsync(source::count, executor)
+                .whenComplete((count, error) -> Platform.runLater(() -> {
+                    if (gen != generation) {
+                        return;
+                    }
+                    if (error != null) {
+                        log.debug("Exception while counting items", error);
+                    }
+                    counting = false;
+                    resize(error == null ? count : 0);
+                    updateLoading();
+                }));
+    }
+
+    private void resize(int count) {
+        final int oldSize = size;
+        size = count;
+        beginChange();
+        if (oldSize > 0) {
+            nextRemove(0, Collections.nCopies(oldSize, null));
+        }
+        if (count > 0) {
+            nextAdd(0, count);
+        }
+        endChange();
+    }
+
+    private void load(int page) {
+        if (pages.containsKey(page) || !loadingPages.add(page)) {
+            return;
+        }
+        final int gen = generation;
+        final int offset = page * pageSize;
+        updateLoading();
+        CompletableFuture.supplyAsync(() -> source.fetch(offset, pageSize), executor)
+                .whenComplete((items, error) -> Platform.runLater(() -> {
+                    if (gen != generation) {
+                        return;
+                    }
+                    loadingPages.remove(page);
+                    if (error != null) {
+                        log.debug("Exception while loading items", error);
+                    } else {
+                        publish(page, items);
+                    }
+                    updateLoading();
+                }));
+    }
+
+    private void publish(int page, List<T> items) {
+        final int from = page * pageSize;
+        final int to = Math.min(size, from + items.size());
+        pages.put(page, items);
+        if (from < to) {
+            beginChange();
+            nextReplace(from, to, Collections.nCopies(to - from, null));
+            endChange();
+        }
+    }
+
+    private void updateLoading() {
+        loading.set(counting || !loadingPages.isEmpty());
+    }
+}
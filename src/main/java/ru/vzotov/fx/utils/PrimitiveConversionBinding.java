@@ -0,0 +1,608 @@
+package ru.vzotov.fx.utils;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakListener;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.Property;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongFunction;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Primitive-specialized counterpart of {@link ConversionBinding}.
+ * At least one side of the binding is a {@link DoubleProperty}, {@link IntegerProperty} or {@link LongProperty},
+ * and its value is read and written through the primitive accessors with primitive converters,
+ * so the binding itself does not box or allocate anything per update.
+ * <p>
+ * The binding listens for invalidation rather than change events, because change listeners receive boxed values.
+ * Like {@link ConversionBinding}, it holds both properties weakly and detaches itself once either one
+ * has been garbage collected.
+ *
+ * @param <T> the type of the target property in the conversion binding.
+ * @param <S> the type of the source property in the conversion binding.
+ */
+public abstract class PrimitiveConversionBinding<T extends Property<?>, S extends Property<?>> implements InvalidationListener, WeakListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PrimitiveConversionBinding.class);
+
+    private static void checkParameters(Object property1, Object property2, Object toSource, Object toTarget) {
+        if ((property1 == null) || (property2 == null)) {
+            throw new NullPointerException("Both properties must be specified.");
+        }
+        if (property1 == property2) {
+            throw new IllegalArgumentException("Cannot bind property to itself");
+        }
+        Objects.requireNonNull(toSource);
+        Objects.requireNonNull(toTarget);
+    }
+
+    private static <T extends Property<?>, S extends Property<?>> PrimitiveConversionBinding<T, S> install(PrimitiveConversionBinding<T, S> binding, T target, S source) {
+        binding.updateTarget(target, source);
+        target.addListener(binding);
+        source.addListener(binding);
+        return binding;
+    }
+
+    /**
+     * Binds an object target property to a {@link DoubleProperty} source.
+     * The target's value is set to the result of applying the toTarget function to the source's value.
+     *
+     * @param target   The target property to bind. Must not be null.
+     * @param source   The source property to bind. Must not be null.
+     * @param toSource The function to convert a target value to a double. Must not be null.
+     * @param toTarget The function to convert a double to a target value. Must not be null.
+     * @param <U>      The type of the target property.
+     * @return A new binding of the target property to the source property.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the target and source are the same property.
+     */
+    public static <U> PrimitiveConversionBinding<Property<U>, DoubleProperty> bindDouble(Property<U> target, DoubleProperty source, ToDoubleFunction<U> toSource, DoubleFunction<U> toTarget) {
+        checkParameters(target, source, toSource, toTarget);
+        return install(new ObjectDoubleBinding<>(target, source, toSource, toTarget), target, source);
+    }
+
+    /**
+     * Binds an object target property to an {@link IntegerProperty} source.
+     * The target's value is set to the result of applying the toTarget function to the source's value.
+     *
+     * @param target   The target property to bind. Must not be null.
+     * @param source   The source property to bind. Must not be null.
+     * @param toSource The function to convert a target value to an int. Must not be null.
+     * @param toTarget The function to convert an int to a target value. Must not be null.
+     * @param <U>      The type of the target property.
+     * @return A new binding of the target property to the source property.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the target and source are the same property.
+     */
+    public static <U> PrimitiveConversionBinding<Property<U>, IntegerProperty> bindInteger(Property<U> target, IntegerProperty source, ToIntFunction<U> toSource, IntFunction<U> toTarget) {
+        checkParameters(target, source, toSource, toTarget);
+        return install(new ObjectIntegerBinding<>(target, source, toSource, toTarget), target, source);
+    }
+
+    /**
+     * Binds an object target property to a {@link LongProperty} source.
+     * The target's value is set to the result of applying the toTarget function to the source's value.
+     *
+     * @param target   The target property to bind. Must not be null.
+     * @param source   The source property to bind. Must not be null.
+     * @param toSource The function to convert a target value to a long. Must not be null.
+     * @param toTarget The function to convert a long to a target value. Must not be null.
+     * @param <U>      The type of the target property.
+     * @return A new binding of the target property to the source property.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the target and source are the same property.
+     */
+    public static <U> PrimitiveConversionBinding<Property<U>, LongProperty> bindLong(Property<U> target, LongProperty source, ToLongFunction<U> toSource, LongFunction<U> toTarget) {
+        checkParameters(target, source, toSource, toTarget);
+        return install(new ObjectLongBinding<>(target, source, toSource, toTarget), target, source);
+    }
+
+    /**
+     * Binds an {@link IntegerProperty} target to a {@link LongProperty} source.
+     *
+     * @param target   The target property to bind. Must not be null.
+     * @param source   The source property to bind. Must not be null.
+     * @param toSource The function to convert an int to a long. Must not be null.
+     * @param toTarget The function to convert a long to an int. Must not be null.
+     * @return A new binding of the target property to the source property.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the target and source are the same property.
+     */
+    public static PrimitiveConversionBinding<IntegerProperty, LongProperty> bind(IntegerProperty target, LongProperty source, IntToLongFunction toSource, LongToIntFunction toTarget) {
+        checkParameters(target, source, toSource, toTarget);
+        return install(new IntegerLongBinding(target, source, toSource, toTarget), target, source);
+    }
+
+    /**
+     * Binds a {@link LongProperty} target to an {@link IntegerProperty} source.
+     *
+     * @param target   The target property to bind. Must not be null.
+     * @param source   The source property to bind. Must not be null.
+     * @param toSource The function to convert a long to an int. Must not be null.
+     * @param toTarget The function to convert an int to a long. Must not be null.
+     * @return A new binding of the target property to the source property.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the target and source are the same property.
+     */
+    public static PrimitiveConversionBinding<LongProperty, IntegerProperty> bind(LongProperty target, IntegerProperty source, LongToIntFunction toSource, IntToLongFunction toTarget) {
+        checkParameters(target, source, toSource, toTarget);
+        return install(new LongIntegerBinding(target, source, toSource, toTarget), target, source);
+    }
+
+    /**
+     * Binds an {@link IntegerProperty} target to a {@link DoubleProperty} source.
+     *
+     * @param target   The target property to bind. Must not be null.
+     * @param source   The source property to bind. Must not be null.
+     * @param toSource The function to convert an int to a double. Must not be null.
+     * @param toTarget The function to convert a double to an int. Must not be null.
+     * @return A new binding of the target property to the source property.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the target and source are the same property.
+     */
+    public static PrimitiveConversionBinding<IntegerProperty, DoubleProperty> bind(IntegerProperty target, DoubleProperty source, IntToDoubleFunction toSource, DoubleToIntFunction toTarget) {
+        checkParameters(target, source, toSource, toTarget);
+        return install(new IntegerDoubleBinding(target, source, toSource, toTarget), target, source);
+    }
+
+    /**
+     * Binds a {@link DoubleProperty} target to an {@link IntegerProperty} source.
+     *
+     * @param target   The target property to bind. Must not be null.
+     * @param source   The source property to bind. Must not be null.
+     * @param toSource The function to convert a double to an int. Must not be null.
+     * @param toTarget The function to convert an int to a double. Must not be null.
+     * @return A new binding of the target property to the source property.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the target and source are the same property.
+     */
+    public static PrimitiveConversionBinding<DoubleProperty, IntegerProperty> bind(DoubleProperty target, IntegerProperty source, DoubleToIntFunction toSource, IntToDoubleFunction toTarget) {
+        checkParameters(target, source, toSource, toTarget);
+        return install(new DoubleIntegerBinding(target, source, toSource, toTarget), target, source);
+    }
+
+    /**
+     * Binds a {@link LongProperty} target to a {@link DoubleProperty} source.
+     *
+     * @param target   The target property to bind. Must not be null.
+     * @param source   The source property to bind. Must not be null.
+     * @param toSource The function to convert a long to a double. Must not be null.
+     * @param toTarget The function to convert a double to a long. Must not be null.
+     * @return A new binding of the target property to the source property.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the target and source are the same property.
+     */
+    public static PrimitiveConversionBinding<LongProperty, DoubleProperty> bind(LongProperty target, DoubleProperty source, LongToDoubleFunction toSource, DoubleToLongFunction toTarget) {
+        checkParameters(target, source, toSource, toTarget);
+        return install(new LongDoubleBinding(target, source, toSource, toTarget), target, source);
+    }
+
+    /**
+     * Binds a {@link DoubleProperty} target to a {@link LongProperty} source.
+     *
+     * @param target   The target property to bind. Must not be null.
+     * @param source   The source property to bind. Must not be null.
+     * @param toSource The function to convert a double to a long. Must not be null.
+     * @param toTarget The function to convert a long to a double. Must not be null.
+     * @return A new binding of the target property to the source property.
+     * @throws NullPointerException     If any of the parameters are null.
+     * @throws IllegalArgumentException If the target and source are the same property.
+     */
+    public static PrimitiveConversionBinding<DoubleProperty, LongProperty> bind(DoubleProperty target, LongProperty source, DoubleToLongFunction toSource, LongToDoubleFunction toTarget) {
+        checkParameters(target, source, toSource, toTarget);
+        return install(new DoubleLongBinding(target, source, toSource, toTarget), target, source);
+    }
+
+    private final int cachedHashCode;
+    private final WeakReference<T> targetPropertyRef;
+    private final WeakReference<S> sourcePropertyRef;
+    private boolean updating;
+
+    private PrimitiveConversionBinding(T target, S source) {
+        cachedHashCode = target.hashCode() * source.hashCode();
+        targetPropertyRef = new WeakReference<>(target);
+        sourcePropertyRef = new WeakReference<>(source);
+    }
+
+    protected Object getTarget() {
+        return targetPropertyRef.get();
+    }
+
+    protected Object getSource() {
+        return sourcePropertyRef.get();
+    }
+
+    /**
+     * Converts the target's value and writes it to the source.
+     * Implementations must read the source back after writing, so that it becomes valid
+     * and keeps firing invalidation events.
+     */
+    abstract void updateSource(T target, S source);
+
+    /**
+     * Converts the source's value and writes it to the target.
+     * Implementations must read the target back after writing, so that it becomes valid
+     * and keeps firing invalidation events.
+     */
+    abstract void updateTarget(T target, S source);
+
+    @Override
+    public int hashCode() {
+        return cachedHashCode;
+    }
+
+    @Override
+    public boolean wasGarbageCollected() {
+        return (getTarget() == null) || (getSource() == null);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        final Object propertyA1 = getTarget();
+        final Object propertyA2 = getSource();
+        if ((propertyA1 == null) || (propertyA2 == null)) {
+            return false;
+        }
+
+        if (obj instanceof final PrimitiveConversionBinding<?, ?> otherBinding) {
+            final Object propertyB1 = otherBinding.getTarget();
+            final Object propertyB2 = otherBinding.getSource();
+            if ((propertyB1 == null) || (propertyB2 == null)) {
+                return false;
+            }
+
+            if (propertyA1 == propertyB1 && propertyA2 == propertyB2) {
+                return true;
+            }
+            if (propertyA1 == propertyB2 && propertyA2 == propertyB1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void invalidated(Observable observable) {
+        if (!updating) {
+            final T target = targetPropertyRef.get();
+            final S source = sourcePropertyRef.get();
+            if ((target == null) || (source == null)) {
+                if (target != null) {
+                    target.removeListener(this);
+                }
+                if (source != null) {
+                    source.removeListener(this);
+                }
+            } else {
+                try {
+                    updating = true;
+                    if (target == observable) {
+                        updateSource(target, source);
+                    } else {
+                        updateTarget(target, source);
+                    }
+                } finally {
+                    updating = false;
+                }
+            }
+        }
+    }
+
+    private static final class ObjectDoubleBinding<U> extends PrimitiveConversionBinding<Property<U>, DoubleProperty> {
+        private final ToDoubleFunction<U> toSource;
+        private final DoubleFunction<U> toTarget;
+
+        private ObjectDoubleBinding(Property<U> target, DoubleProperty source, ToDoubleFunction<U> toSource, DoubleFunction<U> toTarget) {
+            super(target, source);
+            this.toSource = toSource;
+            this.toTarget = toTarget;
+        }
+
+        @Override
+        void updateSource(Property<U> target, DoubleProperty source) {
+            try {
+                source.set(toSource.applyAsDouble(target.getValue()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to double in bidirectional binding");
+                source.set(0.0);
+            }
+            source.get();
+        }
+
+        @Override
+        void updateTarget(Property<U> target, DoubleProperty source) {
+            try {
+                target.setValue(toTarget.apply(source.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting from double in bidirectional binding");
+                target.setValue(null);
+            }
+            target.getValue();
+        }
+    }
+
+    private static final class ObjectIntegerBinding<U> extends PrimitiveConversionBinding<Property<U>, IntegerProperty> {
+        private final ToIntFunction<U> toSource;
+        private final IntFunction<U> toTarget;
+
+        private ObjectIntegerBinding(Property<U> target, IntegerProperty source, ToIntFunction<U> toSource, IntFunction<U> toTarget) {
+            super(target, source);
+            this.toSource = toSource;
+            this.toTarget = toTarget;
+        }
+
+        @Override
+        void updateSource(Property<U> target, IntegerProperty source) {
+            try {
+                source.set(toSource.applyAsInt(target.getValue()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to int in bidirectional binding");
+                source.set(0);
+            }
+            source.get();
+        }
+
+        @Override
+        void updateTarget(Property<U> target, IntegerProperty source) {
+            try {
+                target.setValue(toTarget.apply(source.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting from int in bidirectional binding");
+                target.setValue(null);
+            }
+            target.getValue();
+        }
+    }
+
+    private static final class ObjectLongBinding<U> extends PrimitiveConversionBinding<Property<U>, LongProperty> {
+        private final ToLongFunction<U> toSource;
+        private final LongFunction<U> toTarget;
+
+        private ObjectLongBinding(Property<U> target, LongProperty source, ToLongFunction<U> toSource, LongFunction<U> toTarget) {
+            super(target, source);
+            this.toSource = toSource;
+            this.toTarget = toTarget;
+        }
+
+        @Override
+        void updateSource(Property<U> target, LongProperty source) {
+            try {
+                source.set(toSource.applyAsLong(target.getValue()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to long in bidirectional binding");
+                source.set(0L);
+            }
+            source.get();
+        }
+
+        @Override
+        void updateTarget(Property<U> target, LongProperty source) {
+            try {
+                target.setValue(toTarget.apply(source.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting from long in bidirectional binding");
+                target.setValue(null);
+            }
+            target.getValue();
+        }
+    }
+
+    private static final class IntegerLongBinding extends PrimitiveConversionBinding<IntegerProperty, LongProperty> {
+        private final IntToLongFunction toSource;
+        private final LongToIntFunction toTarget;
+
+        private IntegerLongBinding(IntegerProperty target, LongProperty source, IntToLongFunction toSource, LongToIntFunction toTarget) {
+            super(target, source);
+            this.toSource = toSource;
+            this.toTarget = toTarget;
+        }
+
+        @Override
+        void updateSource(IntegerProperty target, LongProperty source) {
+            try {
+                source.set(toSource.applyAsLong(target.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to long in bidirectional binding");
+                source.set(0L);
+            }
+            source.get();
+        }
+
+        @Override
+        void updateTarget(IntegerProperty target, LongProperty source) {
+            try {
+                target.set(toTarget.applyAsInt(source.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to int in bidirectional binding");
+                target.set(0);
+            }
+            target.get();
+        }
+    }
+
+    private static final class LongIntegerBinding extends PrimitiveConversionBinding<LongProperty, IntegerProperty> {
+        private final LongToIntFunction toSource;
+        private final IntToLongFunction toTarget;
+
+        private LongIntegerBinding(LongProperty target, IntegerProperty source, LongToIntFunction toSource, IntToLongFunction toTarget) {
+            super(target, source);
+            this.toSource = toSource;
+            this.toTarget = toTarget;
+        }
+
+        @Override
+        void updateSource(LongProperty target, IntegerProperty source) {
+            try {
+                source.set(toSource.applyAsInt(target.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to int in bidirectional binding");
+                source.set(0);
+            }
+            source.get();
+        }
+
+        @Override
+        void updateTarget(LongProperty target, IntegerProperty source) {
+            try {
+                target.set(toTarget.applyAsLong(source.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to long in bidirectional binding");
+                target.set(0L);
+            }
+            target.get();
+        }
+    }
+
+    private static final class IntegerDoubleBinding extends PrimitiveConversionBinding<IntegerProperty, DoubleProperty> {
+        private final IntToDoubleFunction toSource;
+        private final DoubleToIntFunction toTarget;
+
+        private IntegerDoubleBinding(IntegerProperty target, DoubleProperty source, IntToDoubleFunction toSource, DoubleToIntFunction toTarget) {
+            super(target, source);
+            this.toSource = toSource;
+            this.toTarget = toTarget;
+        }
+
+        @Override
+        void updateSource(IntegerProperty target, DoubleProperty source) {
+            try {
+                source.set(toSource.applyAsDouble(target.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to double in bidirectional binding");
+                source.set(0.0);
+            }
+            source.get();
+        }
+
+        @Override
+        void updateTarget(IntegerProperty target, DoubleProperty source) {
+            try {
+                target.set(toTarget.applyAsInt(source.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to int in bidirectional binding");
+                target.set(0);
+            }
+            target.get();
+        }
+    }
+
+    private static final class DoubleIntegerBinding extends PrimitiveConversionBinding<DoubleProperty, IntegerProperty> {
+        private final DoubleToIntFunction toSource;
+        private final IntToDoubleFunction toTarget;
+
+        private DoubleIntegerBinding(DoubleProperty target, IntegerProperty source, DoubleToIntFunction toSource, IntToDoubleFunction toTarget) {
+            super(target, source);
+            this.toSource = toSource;
+            this.toTarget = toTarget;
+        }
+
+        @Override
+        void updateSource(DoubleProperty target, IntegerProperty source) {
+            try {
+                source.set(toSource.applyAsInt(target.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to int in bidirectional binding");
+                source.set(0);
+            }
+            source.get();
+        }
+
+        @Override
+        void updateTarget(DoubleProperty target, IntegerProperty source) {
+            try {
+                target.set(toTarget.applyAsDouble(source.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to double in bidirectional binding");
+                target.set(0.0);
+            }
+            target.get();
+        }
+    }
+
+    private static final class LongDoubleBinding extends PrimitiveConversionBinding<LongProperty, DoubleProperty> {
+        private final LongToDoubleFunction toSource;
+        private final DoubleToLongFunction toTarget;
+
+        private LongDoubleBinding(LongProperty target, DoubleProperty source, LongToDoubleFunction toSource, DoubleToLongFunction toTarget) {
+            super(target, source);
+            this.toSource = toSource;
+            this.toTarget = toTarget;
+        }
+
+        @Override
+        void updateSource(LongProperty target, DoubleProperty source) {
+            try {
+                source.set(toSource.applyAsDouble(target.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to double in bidirectional binding");
+                source.set(0.0);
+            }
+            source.get();
+        }
+
+        @Override
+        void updateTarget(LongProperty target, DoubleProperty source) {
+            try {
+                target.set(toTarget.applyAsLong(source.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to long in bidirectional binding");
+                target.set(0L);
+            }
+            target.get();
+        }
+    }
+
+    private static final class DoubleLongBinding extends PrimitiveConversionBinding<DoubleProperty, LongProperty> {
+        private final DoubleToLongFunction toSource;
+        private final LongToDoubleFunction toTarget;
+
+        private DoubleLongBinding(DoubleProperty target, LongProperty source, DoubleToLongFunction toSource, LongToDoubleFunction toTarget) {
+            super(target, source);
+            this.toSource = toSource;
+            this.toTarget = toTarget;
+        }
+
+        @Override
+        void updateSource(DoubleProperty target, LongProperty source) {
+            try {
+                source.set(toSource.applyAsLong(target.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to long in bidirectional binding");
+                source.set(0L);
+            }
+            source.get();
+        }
+
+        @Override
+        void updateTarget(DoubleProperty target, LongProperty source) {
+            try {
+                target.set(toTarget.applyAsDouble(source.get()));
+            } catch (Exception e) {
+                log.debug("Exception while converting to double in bidirectional binding");
+                target.set(0.0);
+            }
+            target.get();
+        }
+    }
+}
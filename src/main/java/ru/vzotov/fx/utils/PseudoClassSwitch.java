@@ -0,0 +1,93 @@
+package ru.vzotov.fx.utils;
+
+import javafx.css.PseudoClass;
+import javafx.scene.Node;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Pseudo class counterpart of {@link StyleSwitch}: maps values to pseudo classes and activates the pseudo class
+ * of the selected value, deactivating the others. A pseudo class state change only re-evaluates the selectors
+ * that use the pseudo class, while a style class change makes the node match all selectors again,
+ * so states that change often, e.g. in cells and rows, are cheaper as pseudo classes.
+ * <p>
+ * The pseudo classes are resolved once when the switch is built. A switch is immutable and can be shared.
+ *
+ * @param <V> the type of the values
+ */
+public final class PseudoClassSwitch<V> {
+
+    private final Map<V, PseudoClass> pseudoClasses;
+    private final PseudoClass[] all;
+
+    /**
+     * @param pseudoClasses the values and their pseudo classes
+     */
+    public PseudoClassSwitch(Map<V, PseudoClass> pseudoClasses) {
+        this.pseudoClasses = new HashMap<>(pseudoClasses.size() * 4 / 3 + 1);
+        final Set<PseudoClass> distinct = new LinkedHashSet<>();
+        for (Map.Entry<V, PseudoClass> e : pseudoClasses.entrySet()) {
+            this.pseudoClasses.put(Objects.requireNonNull(e.getKey()), Objects.requireNonNull(e.getValue()));
+            distinct.add(e.getValue());
+        }
+        this.all = distinct.toArray(new PseudoClass[0]);
+    }
+
+    /**
+     * Builds a switch over the constants of an enum, with pseudo classes named after the constants:
+     * lower case, with dashes instead of underscores, e.g. {@code IN_PROGRESS} becomes {@code :in-progress}.
+     *
+     * @param type the enum type
+     * @param <E>  the enum type
+     * @return the switch
+     */
+    public static <E extends Enum<E>> PseudoClassSwitch<E> of(Class<E> type) {
+        return of(type, "");
+    }
+
+    /**
+     * Builds a switch over the constants of an enum, with pseudo classes named after the constants
+     * and prefixed, e.g. {@code IN_PROGRESS} with the prefix {@code "status-"} becomes {@code :status-in-progress}.
+     *
+     * @param type   the enum type
+     * @param prefix the prefix of the pseudo class names
+     * @param <E>    the enum type
+     * @return the switch
+     */
+    public static <E extends Enum<E>> PseudoClassSwitch<E> of(Class<E> type, String prefix) {
+        final Map<E, PseudoClass> pseudoClasses = new HashMap<>();
+        for (E e : type.getEnumConstants()) {
+            pseudoClasses.put(e, PseudoClass.getPseudoClass(prefix + e.name().toLowerCase(Locale.ROOT).replace('_', '-')));
+        }
+        return new PseudoClassSwitch<>(pseudoClasses);
+    }
+
+    /**
+     * @param value the value
+     * @return the pseudo class of the value, or {@code null} if no pseudo class is mapped to it
+     */
+    public PseudoClass pseudoClassOf(V value) {
+        return value == null ? null : pseudoClasses.get(value);
+    }
+
+    /**
+     * Activates the pseudo class of the value and deactivates the other pseudo classes of the switch.
+     *
+     * @param node  the node, may be {@code null}
+     * @param value the selected value, or {@code null} to deactivate all pseudo classes of the switch
+     */
+    public void apply(Node node, V value) {
+        if (node == null) {
+            return;
+        }
+        final PseudoClass selected = pseudoClassOf(value);
+        for (PseudoClass pseudoClass : all) {
+            node.pseudoClassStateChanged(pseudoClass, pseudoClass == selected);
+        }
+    }
+}
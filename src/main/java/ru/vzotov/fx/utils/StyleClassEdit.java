@@ -0,0 +1,168 @@
+package ru.vzotov.fx.utils;
+
+import javafx.collections.ObservableList;
+import javafx.css.Styleable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A batch of style class changes. The changes are recorded once and can be applied to any number of nodes.
+ * Applying computes the resulting style classes of a node first and replaces them with a single
+ * {@link ObservableList#setAll(java.util.Collection)} only when they differ, so a node gets at most
+ * one list change and one CSS pass per batch, and none when nothing changes.
+ * <p>
+ * An edit is not thread-safe. It reuses an internal buffer and must be applied on the JavaFX Application Thread.
+ *
+ * @see LayoutUtils#restyle(Styleable, StyleClassEdit)
+ * @see LayoutUtils#restyleAll(Iterable, StyleClassEdit)
+ */
+public class StyleClassEdit {
+
+    private interface Operation {
+        void apply(List<String> styles);
+    }
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final List<String> buffer = new ArrayList<>();
+
+    /**
+     * Adds the style class unless it is present.
+     *
+     * @param style the style class
+     * @return this edit
+     */
+    public StyleClassEdit add(String style) {
+        Objects.requireNonNull(style);
+        operations.add(styles -> {
+            if (!styles.contains(style)) {
+                styles.add(style);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Removes all occurrences of the style class.
+     *
+     * @param style the style class
+     * @return this edit
+     */
+    public StyleClassEdit remove(String style) {
+        Objects.requireNonNull(style);
+        operations.add(styles -> styles.removeIf(style::equals));
+        return this;
+    }
+
+    /**
+     * Adds or removes the style class, like {@link LayoutUtils#toggle(Styleable, String, boolean)}.
+     *
+     * @param style the style class
+     * @param value whether the style class must be present
+     * @return this edit
+     */
+    public StyleClassEdit toggle(String style, boolean value) {
+        return value ? add(style) : remove(style);
+    }
+
+    /**
+     * Selects the style class mapped to the value and removes the other mapped style classes,
+     * like {@link LayoutUtils#toggleWhen(Styleable, Map, Object)}.
+     *
+     * @param styles the style classes and their values
+     * @param value  the selected value, or {@code null} to remove all mapped style classes
+     * @param <V>    the type of the values
+     * @return this edit
+     */
+    public <V> StyleClassEdit toggleWhen(Map<String, V> styles, V value) {
+        Objects.requireNonNull(styles);
+        operations.add(list -> {
+            boolean append = value != null;
+            for (int i = list.size() - 1; i >= 0; i--) {
+                final V v = styles.get(list.get(i));
+                if (v != null) {
+                    if (v.equals(value)) {
+                        append = false;
+                    } else {
+                        list.remove(i);
+                    }
+                }
+            }
+            if (append) {
+                for (Map.Entry<String, V> e : styles.entrySet()) {
+                    if (value.equals(e.getValue())) {
+                        list.add(e.getKey());
+                        break;
+                    }
+                }
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Selects the style class of the value and removes the other style classes of the switch.
+     *
+     * @param styles the style switch
+     * @param value  the selected value, or {@code null} to remove all style classes of the switch
+     * @param <V>    the type of the values
+     * @return this edit
+     */
+    public <V> StyleClassEdit toggleWhen(StyleSwitch<V> styles, V value) {
+        Objects.requireNonNull(styles);
+        operations.add(list -> styles.apply(list, value));
+        return this;
+    }
+
+    /**
+     * Removes all recorded changes, so the edit can be reused.
+     *
+     * @return this edit
+     */
+    public StyleClassEdit clear() {
+        operations.clear();
+        return this;
+    }
+
+    /**
+     * Applies the changes to a node.
+     *
+     * @param styleable the node, may be {@code null}
+     * @return {@code true} if the style classes of the node changed
+     */
+    public boolean apply(Styleable styleable) {
+        if (styleable == null) {
+            return false;
+        }
+        final ObservableList<String> list = styleable.getStyleClass();
+        buffer.clear();
+        buffer.addAll(list);
+        for (Operation operation : operations) {
+            operation.apply(buffer);
+        }
+        final boolean changed = !buffer.equals(list);
+        if (changed) {
+            list.setAll(buffer);
+        }
+        buffer.clear();
+        return changed;
+    }
+
+    /**
+     * Applies the changes to every node.
+     *
+     * @param styleables the nodes
+     * @return the number of nodes whose style classes changed
+     */
+    public int applyAll(Iterable<? extends Styleable> styleables) {
+        int count = 0;
+        for (Styleable styleable : styleables) {
+            if (apply(styleable)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
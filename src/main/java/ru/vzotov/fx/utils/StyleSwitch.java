@@ -0,0 +1,117 @@
+package ru.vzotov.fx.utils;
+
+import javafx.collections.ObservableList;
+import javafx.css.Styleable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Precompiled form of the style class map of {@link LayoutUtils#toggleWhen(Styleable, Map, Object)}.
+ * The switch is built once, with the value of every style class and the style class of every value,
+ * so applying it walks the current style classes once, without allocating, and changes the style class list
+ * with at most one operation.
+ * <p>
+ * A switch is immutable and can be shared, e.g. by all cells of a column.
+ *
+ * @param <V> the type of the values
+ */
+public final class StyleSwitch<V> {
+
+    private final Map<String, V> values;
+    private final Map<V, String> styles;
+
+    /**
+     * @param styles the style classes and their values. The first style class of a value is the one that is added.
+     */
+    public StyleSwitch(Map<String, V> styles) {
+        // a sparse table, so that the lookups of other style classes mostly hit empty buckets
+        this.values = new HashMap<>(Math.max(16, styles.size() * 8));
+        this.styles = new HashMap<>(styles.size() * 4 / 3 + 1);
+        for (Map.Entry<String, V> e : styles.entrySet()) {
+            final V value = Objects.requireNonNull(e.getValue());
+            values.put(Objects.requireNonNull(e.getKey()), value);
+            this.styles.putIfAbsent(value, e.getKey());
+        }
+    }
+
+    /**
+     * @param value the value
+     * @return the style class added for the value, or {@code null} if no style class is mapped to it
+     */
+    public String styleOf(V value) {
+        return value == null ? null : styles.get(value);
+    }
+
+    /**
+     * Selects the style class of the value and removes the other style classes of the switch.
+     *
+     * @param styleable the node, may be {@code null}
+     * @param value     the selected value, or {@code null} to remove all style classes of the switch
+     * @return {@code true} if the style classes of the node changed
+     */
+    public boolean apply(Styleable styleable, V value) {
+        return styleable != null && apply(styleable.getStyleClass(), value);
+    }
+
+    boolean apply(List<String> list, V value) {
+        boolean present = false;
+        int removeFirst = -1;
+        int removeCount = 0;
+        int i = 0;
+        for (String style : list) {
+            final V v = values.get(style);
+            if (v != null) {
+                if (v.equals(value)) {
+                    present = true;
+                } else {
+                    if (removeFirst < 0) {
+                        removeFirst = i;
+                    }
+                    removeCount++;
+                }
+            }
+            i++;
+        }
+        final String selected = present ? null : styleOf(value);
+        final boolean append = selected != null;
+        if (removeCount == 0) {
+            if (append) {
+                list.add(selected);
+            }
+            return append;
+        }
+        if (removeCount == 1) {
+            if (append) {
+                list.set(removeFirst, selected);
+            } else {
+                list.remove(removeFirst);
+            }
+            return true;
+        }
+        replace(list, value, append ? selected : null, removeCount);
+        return true;
+    }
+
+    private void replace(List<String> list, V value, String appended, int removeCount) {
+        final List<String> result = new ArrayList<>(list.size() - removeCount + 1);
+        for (String style : list) {
+            final V v = values.get(style);
+            if (v == null || v.equals(value)) {
+                result.add(style);
+            }
+        }
+        if (appended != null) {
+            result.add(appended);
+        }
+        if (list instanceof ObservableList<String> observable) {
+            observable.setAll(result);
+        } else {
+            list.clear();
+            list.addAll(result);
+        }
+    }
+}
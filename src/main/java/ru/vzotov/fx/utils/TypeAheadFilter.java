@@ -0,0 +1,204 @@
+package ru.vzotov.fx.utils;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Type-ahead filter of a list of items, backed by a {@link TypeAheadIndex}.
+ * The index is built once per source list and rebuilt only when the list or the text function changes.
+ * When the new query contains the previous one, only the previous matches are searched again,
+ * so typing more characters narrows the result incrementally.
+ * <p>
+ * Searches over more than {@link #getBackgroundThreshold()} items, and index builds over such lists,
+ * run on a background executor. Starting a new search cancels the previous one.
+ * The matching items are published to {@link #getResults()} on the JavaFX Application Thread.
+ * All methods must be called on the JavaFX Application Thread.
+ *
+ * @param <T> the type of the items
+ */
+public class TypeAheadFilter<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(TypeAheadFilter.class);
+
+    public static final int DEFAULT_BACKGROUND_THRESHOLD = 10_000;
+
+    private final ObservableList<T> results = FXCollections.observableArrayList();
+    private final ObservableList<T> unmodifiableResults = FXCollections.unmodifiableObservableList(results);
+    private final ListChangeListener<T> sourceListener = c -> refresh();
+    private final Executor executor;
+
+    private List<T> source = Collections.emptyList();
+    private Function<T, String> toText = String::valueOf;
+    private int backgroundThreshold = DEFAULT_BACKGROUND_THRESHOLD;
+
+    private TypeAheadIndex<T> index;
+    private int version;
+    private String query = "";
+    private String matchedQuery;
+    private int[] matches;
+    private volatile long sequence;
+    private CompletableFuture<?> inFlight;
+
+    public TypeAheadFilter() {
+        this(BackgroundExecutor.get());
+    }
+
+    public TypeAheadFilter(Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    // filtering
+
+    private final ReadOnlyBooleanWrapper filtering = new ReadOnlyBooleanWrapper(this, "filtering", false);
+
+    /**
+     * Indicates that a background search is in progress and the results are about to change.
+     *
+     * @return the filtering property
+     */
+    public ReadOnlyBooleanProperty filteringProperty() {
+        return filtering.getReadOnlyProperty();
+    }
+
+    public boolean isFiltering() {
+        return filtering.get();
+    }
+
+    /**
+     * @return the items matching the current query, in source order
+     */
+    public ObservableList<T> getResults() {
+        return unmodifiableResults;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getBackgroundThreshold() {
+        return backgroundThreshold;
+    }
+
+    public void setBackgroundThreshold(int backgroundThreshold) {
+        this.backgroundThreshold = backgroundThreshold;
+    }
+
+    /**
+     * Sets the items to filter and the function giving their searchable text.
+     * Observable lists are tracked, and the index is rebuilt when they change.
+     *
+     * @param items  the items to filter
+     * @param toText the searchable text of an item
+     */
+    public void setSource(List<T> items, Function<T, String> toText) {
+        if (source instanceof ObservableList<T> observable) {
+            observable.removeListener(sourceListener);
+        }
+        this.source = items == null ? Collections.emptyList() : items;
+        this.toText = Objects.requireNonNull(toText);
+        if (source instanceof ObservableList<T> observable) {
+            observable.addListener(sourceListener);
+        }
+        refresh();
+    }
+
+    /**
+     * Drops the index and filters the current query again, e.g. after the text of the items has changed.
+     */
+    public void refresh() {
+        index = null;
+        version++;
+        matchedQuery = null;
+        matches = null;
+        filter(query);
+    }
+
+    /**
+     * Filters the items with the given query.
+     *
+     * @param query the text the items must contain, ignoring case
+     */
+    public void filter(String query) {
+        final String q = query == null ? "" : query;
+        final long seq = ++sequence;
+        if (inFlight != null) {
+            inFlight.cancel(false);
+            inFlight = null;
+        }
+        this.query = q;
+
+        final int[] candidates = matchedQuery != null && TypeAheadIndex.normalize(q).contains(TypeAheadIndex.normalize(matchedQuery))
+                ? matches : null;
+        final TypeAheadIndex<T> currentIndex = index;
+        final int work = currentIndex == null ? source.size() : candidates == null ? currentIndex.size() : candidates.length;
+
+        if (work <= backgroundThreshold) {
+            final TypeAheadIndex<T> idx = currentIndex != null ? currentIndex : TypeAheadIndex.build(source, toText);
+            publish(seq, version, idx, q, idx.search(q, candidates, () -> false));
+        } else {
+            final List<T> items = currentIndex == null ? new ArrayList<>(source) : null;
+            final Function<T, String> text = toText;
+            final int ver = version;
+            filtering.set(true);
+            final CompletableFuture<Void> search = CompletableFuture.runAsync(() -> {
+                final TypeAheadIndex<T> idx = currentIndex != null ? currentIndex : TypeAheadIndex.build(items, text);
+                final int[] found = idx.search(q, candidates, () -> sequence != seq);
+                if (found != null) {
+                    Platform.runLater(() -> publish(seq, ver, idx, q, found));
+                }
+            }, executor);
+            search.whenComplete((result, error) -> {
+                // a cancelled search was superseded by a newer query
+                if (error != null && !search.isCancelled()) {
+                    Platform.runLater(() -> fail(seq, error));
+                }
+            });
+            inFlight = search;
+        }
+    }
+
+    /**
+     * Ends a search that threw, e.g. in the text function, keeping the previous results
+     */
+    private void fail(long seq, Throwable error) {
+        log.debug("Exception while filtering items", error);
+        if (seq != sequence) {
+            return;
+        }
+        inFlight = null;
+        filtering.set(false);
+    }
+
+    private void publish(long seq, int ver, TypeAheadIndex<T> idx, String q, int[] found) {
+        if (ver == version) {
+            // the index is still valid for the current source, even if the query is stale
+            index = idx;
+        }
+        if (seq != sequence) {
+            return;
+        }
+        inFlight = null;
+        matchedQuery = q;
+        matches = found;
+        final List<T> items = new ArrayList<>(found.length);
+        for (int i : found) {
+            items.add(idx.get(i));
+        }
+        results.setAll(items);
+        filtering.set(false);
+    }
+}
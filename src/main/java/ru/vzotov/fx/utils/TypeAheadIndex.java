@@ -0,0 +1,182 @@
+package ru.vzotov.fx.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Immutable trigram index over the text representations of items, for case-insensitive substring search.
+ * The texts are computed once when the index is built. Queries of three or more characters only verify items
+ * that contain every trigram of the query; shorter queries scan the precomputed texts.
+ * <p>
+ * The index is thread-safe, so it can be built and searched on a background thread.
+ *
+ * @param <T> the type of the items
+ */
+public final class TypeAheadIndex<T> {
+
+    private static final int CANCELLATION_CHECK_INTERVAL = 1024;
+
+    private final List<T> items;
+    private final String[] texts;
+    private final Map<Long, int[]> trigrams;
+
+    private TypeAheadIndex(List<T> items, String[] texts, Map<Long, int[]> trigrams) {
+        this.items = items;
+        this.texts = texts;
+        this.trigrams = trigrams;
+    }
+
+    /**
+     * Builds an index over a snapshot of the items.
+     *
+     * @param items  the items to index
+     * @param toText the function giving the searchable text of an item, e.g. {@code converter::toString}
+     * @param <T>    the type of the items
+     * @return the index
+     */
+    public static <T> TypeAheadIndex<T> build(List<T> items, Function<T, String> toText) {
+        final List<T> snapshot = new ArrayList<>(items);
+        final int size = snapshot.size();
+        final String[] texts = new String[size];
+        final Map<Long, IntList> postings = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            final T item = snapshot.get(i);
+            final String text = item == null ? null : toText.apply(item);
+            final String normalized = text == null ? "" : normalize(text);
+            texts[i] = normalized;
+            for (int j = 0; j + 3 <= normalized.length(); j++) {
+                final IntList list = postings.computeIfAbsent(trigram(normalized, j), k -> new IntList());
+                // items are visited in order, so a repeated trigram of the same item is always the last entry
+                if (list.size == 0 || list.values[list.size - 1] != i) {
+                    list.add(i);
+                }
+            }
+        }
+        final Map<Long, int[]> trigrams = new HashMap<>(postings.size() * 4 / 3 + 1);
+        postings.forEach((k, v) -> trigrams.put(k, v.toArray()));
+        return new TypeAheadIndex<>(snapshot, texts, trigrams);
+    }
+
+    static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String s, int offset) {
+        return ((long) s.charAt(offset) << 32) | ((long) s.charAt(offset + 1) << 16) | s.charAt(offset + 2);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public T get(int index) {
+        return items.get(index);
+    }
+
+    /**
+     * Finds the items whose text contains the query, ignoring case.
+     *
+     * @param query      the query
+     * @param candidates sorted item indices to restrict the search to, or {@code null} to search all items
+     * @param cancelled  checked periodically; once it returns {@code true} the search stops and returns {@code null}
+     * @return sorted indices of the matching items, or {@code null} if the search was cancelled
+     */
+    public int[] search(String query, int[] candidates, BooleanSupplier cancelled) {
+        final String q = query == null ? "" : normalize(query);
+        if (q.isEmpty()) {
+            return candidates != null ? candidates : all();
+        }
+        int[] scope = candidates;
+        // items of the trigram lookup that are not candidates must still be excluded
+        int[] restriction = null;
+        if (q.length() >= 3) {
+            // both are supersets of the result, verifying the smaller one is enough
+            final int[] narrowed = lookup(q);
+            if (scope == null || narrowed.length < scope.length) {
+                restriction = scope;
+                scope = narrowed;
+            }
+        }
+        final int count = scope == null ? texts.length : scope.length;
+        final int[] result = new int[count];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            if (i % CANCELLATION_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                return null;
+            }
+            final int index = scope == null ? i : scope[i];
+            if ((restriction == null || Arrays.binarySearch(restriction, index) >= 0) && texts[index].contains(q)) {
+                result[found++] = index;
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    private int[] all() {
+        final int[] result = new int[texts.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+
+    /**
+     * Intersects the posting lists of every trigram of the query, smallest first
+     */
+    private int[] lookup(String q) {
+        final int count = q.length() - 2;
+        final int[][] lists = new int[count][];
+        for (int j = 0; j < count; j++) {
+            final int[] list = trigrams.get(trigram(q, j));
+            if (list == null) {
+                return new int[0];
+            }
+            lists[j] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+        int[] result = lists[0];
+        for (int j = 1; j < count && result.length > 0; j++) {
+            result = intersect(result, lists[j]);
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        final int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
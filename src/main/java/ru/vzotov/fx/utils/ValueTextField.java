@@ -4,6 +4,7 @@ import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.control.Skin;
 import javafx.scene.control.TextField;
+import javafx.util.Duration;
 import javafx.util.StringConverter;
 
 public class ValueTextField<T> extends TextField {
@@ -50,6 +51,71 @@ public class ValueTextField<T> extends TextField {
         this.converter.set(converter);
     }
 
+    // commit policy
+
+    private final ObjectProperty<CommitPolicy> commitPolicy = new SimpleObjectProperty<>(this, "commitPolicy", CommitPolicy.IMMEDIATE);
+
+    public CommitPolicy getCommitPolicy() {
+        return commitPolicy.get();
+    }
+
+    /**
+     * Defines when the text typed by the user is parsed into the {@link #valueProperty() value}.
+     * Defaults to {@link CommitPolicy#IMMEDIATE}. A {@code null} policy is treated as immediate.
+     *
+     * @return the commit policy property
+     */
+    public ObjectProperty<CommitPolicy> commitPolicyProperty() {
+        return commitPolicy;
+    }
+
+    public void setCommitPolicy(CommitPolicy commitPolicy) {
+        this.commitPolicy.set(commitPolicy);
+    }
+
+    // commit delay
+
+    private final ObjectProperty<Duration> commitDelay = new SimpleObjectProperty<>(this, "commitDelay", Duration.millis(300));
+
+    public Duration getCommitDelay() {
+        return commitDelay.get();
+    }
+
+    /**
+     * The quiet period after the last keystroke before the text is parsed, used by {@link CommitPolicy#DEBOUNCED}.
+     *
+     * @return the commit delay property
+     */
+    public ObjectProperty<Duration> commitDelayProperty() {
+        return commitDelay;
+    }
+
+    public void setCommitDelay(Duration commitDelay) {
+        this.commitDelay.set(commitDelay);
+    }
+
+    // incremental parser
+
+    private final ObjectProperty<IncrementalParser<T>> incrementalParser = new SimpleObjectProperty<>(this, "incrementalParser", null);
+
+    public IncrementalParser<T> getIncrementalParser() {
+        return incrementalParser.get();
+    }
+
+    /**
+     * Optional parser used instead of the converter when the user only appended characters to the text
+     * that was parsed last time. If it is {@code null} or gives up, the converter parses the whole text.
+     *
+     * @return the incremental parser property
+     */
+    public ObjectProperty<IncrementalParser<T>> incrementalParserProperty() {
+        return incrementalParser;
+    }
+
+    public void setIncrementalParser(IncrementalParser<T> incrementalParser) {
+        this.incrementalParser.set(incrementalParser);
+    }
+
     private StringConverter<T> createDefaultConverter() {
         return new StringConverter<T>() {
             @Override
@@ -64,4 +130,41 @@ public class ValueTextField<T> extends TextField {
         };
     }
 
+    /**
+     * Defines when the text is parsed into the value.
+     */
+    public enum CommitPolicy {
+        /**
+         * Parse on every change of the text
+         */
+        IMMEDIATE,
+        /**
+         * Parse once the text has not changed for the {@link #commitDelayProperty() commit delay},
+         * or earlier on enter or focus loss
+         */
+        DEBOUNCED,
+        /**
+         * Parse on enter or focus loss only
+         */
+        ON_COMMIT
+    }
+
+    /**
+     * Parser that continues from the previous parse result when characters were appended to the text.
+     *
+     * @param <T> the type of the value
+     */
+    @FunctionalInterface
+    public interface IncrementalParser<T> {
+        /**
+         * Parses the text, given that it starts with the previously parsed text.
+         *
+         * @param previousText  the text parsed last time, a proper prefix of {@code text}
+         * @param previousValue the value parsed from {@code previousText}, never null
+         * @param text          the current text
+         * @return the parsed value, or {@code null} to fall back to the converter
+         */
+        T parseAppended(String previousText, T previousValue, String text);
+    }
+
 }
@@ -1,35 +1,199 @@
 package ru.vzotov.fx.utils;
 
+import javafx.animation.PauseTransition;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
 import javafx.scene.control.skin.TextFieldSkin;
+import javafx.util.Duration;
+
+import java.util.Objects;
 
 public class ValueTextFieldSkin<S, T extends ValueTextField<S>> extends TextFieldSkin {
+
+    private final EventHandler<ActionEvent> actionHandler = e -> commit();
+
+    private PauseTransition debounce;
+    private boolean dirty;
+
+    /**
+     * Set while the skin writes the value from the text, or the text from the value,
+     * so that the opposite listener does not echo the change back
+     */
+    private boolean committing;
+    private boolean formatting;
+
+    private long parseCount;
+    private long formatCount;
+
+    /**
+     * Text and value of the last parse, the starting point for the incremental parser
+     */
+    private String parsedText;
+    private S parsedValue;
+
     public ValueTextFieldSkin(T control) {
         super(control);
         registerChangeListener(control.textProperty(), it -> {
-            String text = control.getText();
-            if (text == null || text.isBlank()) {
-                control.setValue(null);
-            } else {
-                S value = control.getConverter().fromString(control.getText());
-                if (value != null) {
-                    control.setValue(value);
-                }
+            if (formatting) {
+                return;
+            }
+            dirty = true;
+            final ValueTextField.CommitPolicy policy = control.getCommitPolicy();
+            if (policy == ValueTextField.CommitPolicy.DEBOUNCED) {
+                scheduleCommit();
+            } else if (policy != ValueTextField.CommitPolicy.ON_COMMIT) {
+                commit();
             }
         });
 
         registerChangeListener(control.valueProperty(), it -> {
-            updateText();
+            if (!committing) {
+                updateText();
+            }
+        });
+        registerChangeListener(control.commitPolicyProperty(), it -> commit());
+        registerChangeListener(control.focusedProperty(), it -> {
+            if (!control.isFocused()) {
+                commit();
+            }
         });
+        control.addEventHandler(ActionEvent.ACTION, actionHandler);
         updateText();
     }
 
+    @Override
+    public void dispose() {
+        if (getSkinnable() != null) {
+            getSkinnable().removeEventHandler(ActionEvent.ACTION, actionHandler);
+        }
+        if (debounce != null) {
+            debounce.stop();
+        }
+        super.dispose();
+    }
+
+    /**
+     * @return the number of times the text was parsed into a value by this skin
+     */
+    public long getParseCount() {
+        return parseCount;
+    }
+
+    /**
+     * @return the number of times the value was formatted into the text by this skin
+     */
+    public long getFormatCount() {
+        return formatCount;
+    }
+
+    // the skinnable is the T given to the constructor
+    @SuppressWarnings("unchecked")
+    private ValueTextField<S> control() {
+        return (ValueTextField<S>) getSkinnable();
+    }
+
+    private void scheduleCommit() {
+        final ValueTextField<S> control = control();
+        final Duration delay = control.getCommitDelay();
+        if (debounce == null) {
+            debounce = new PauseTransition();
+            debounce.setOnFinished(e -> commit());
+        }
+        debounce.stop();
+        debounce.setDuration(delay == null ? Duration.ZERO : delay);
+        debounce.playFromStart();
+    }
+
+    /**
+     * Parses pending text into the value
+     */
+    private void commit() {
+        if (debounce != null) {
+            debounce.stop();
+        }
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+
+        final ValueTextField<S> control = control();
+        String text = control.getText();
+        S value;
+        if (text == null || text.isBlank()) {
+            value = null;
+        } else {
+            value = parse(control, text);
+            if (value == null) {
+                // unparseable text keeps the previous value
+                parsedText = text;
+                parsedValue = null;
+                return;
+            }
+        }
+        parsedText = text;
+        parsedValue = value;
+        if (!Objects.equals(value, control.getValue())) {
+            try {
+                committing = true;
+                control.setValue(value);
+            } finally {
+                committing = false;
+            }
+        }
+    }
+
+    private S parse(ValueTextField<S> control, String text) {
+        parseCount++;
+        if (!Metrics.ENABLED) {
+            return parseText(control, text);
+        }
+        final long start = System.nanoTime();
+        try {
+            return parseText(control, text);
+        } finally {
+            Metrics.SINK.parse(System.nanoTime() - start);
+        }
+    }
+
+    private S parseText(ValueTextField<S> control, String text) {
+        final ValueTextField.IncrementalParser<S> parser = control.getIncrementalParser();
+        if (parser != null && parsedValue != null && parsedText != null
+                && text.length() > parsedText.length() && text.startsWith(parsedText)) {
+            final S value = parser.parseAppended(parsedText, parsedValue, text);
+            if (value != null) {
+                return value;
+            }
+        }
+        return control.getConverter().fromString(text);
+    }
+
     private void updateText() {
-        ValueTextField<S> control = (ValueTextField<S>) getSkinnable();
+        ValueTextField<S> control = control();
         S value = control.getValue();
+        String text;
         if (value == null) {
-            control.setText("");
+            text = "";
         } else {
-            control.setText(control.getConverter().toString(value));
+            formatCount++;
+            if (Metrics.ENABLED) {
+                final long start = System.nanoTime();
+                text = control.getConverter().toString(value);
+                Metrics.SINK.format(System.nanoTime() - start);
+            } else {
+                text = control.getConverter().toString(value);
+            }
+        }
+        // the text now reflects the value, there is nothing left to commit
+        dirty = false;
+        parsedText = text;
+        parsedValue = value;
+        if (!Objects.equals(text, control.getText())) {
+            try {
+                formatting = true;
+                control.setText(text);
+            } finally {
+                formatting = false;
+            }
         }
     }
 }
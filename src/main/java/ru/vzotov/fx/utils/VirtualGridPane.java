@@ -0,0 +1,367 @@
+package ru.vzotov.fx.utils;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.RowConstraints;
+import javafx.scene.shape.Rectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Virtualized counterpart of the {@link GridPane} built by {@link GridPaneBuilder#build()}, for forms with
+ * thousands of rows. Only the rows in the viewport exist as nodes: they are created by a row factory,
+ * laid out by an inner {@link GridPane} with the column constraints and the gaps of the builder,
+ * and re-bound to other indexes when the grid scrolls. The number of nodes, and so the CSS and the layout work,
+ * depends on the height of the viewport, not on the {@link #rowCountProperty() row count}.
+ * <p>
+ * All rows have the same height, the {@link #fixedRowHeightProperty() fixed row height} or the preferred height
+ * of the first row. The widths of computed size columns follow the rows in the viewport, so columns that must not
+ * change width while scrolling should have a preferred or percent width.
+ *
+ * @see GridPaneBuilder#virtual(Supplier)
+ */
+public class VirtualGridPane extends Region {
+
+    private static final String DEFAULT_STYLE_CLASS = "virtual-grid-pane";
+
+    private static final double DEFAULT_PREF_HEIGHT = 400;
+
+    /**
+     * Row of a {@link VirtualGridPane}: the nodes shown in one row of the grid, reused for another index
+     * when the row scrolls out of the viewport.
+     */
+    public abstract static class Row {
+
+        private final Node[] cells;
+        private int index = -1;
+        private int slot = -1;
+
+        /**
+         * @param cells the nodes of the row, the first one in the first column and so on, {@code null} for an empty column.
+         *              Spans and alignments set with the static methods of {@link GridPane} are kept.
+         */
+        protected Row(Node... cells) {
+            this.cells = cells.clone();
+        }
+
+        /**
+         * @return the index of the row shown, or {@code -1} if the row is not used
+         */
+        public final int getIndex() {
+            return index;
+        }
+
+        /**
+         * Shows the row at the index in the nodes of this row.
+         *
+         * @param index the index of the row, or {@code -1} if the row is not used. The nodes of an unused row are hidden.
+         */
+        protected abstract void updateIndex(int index);
+
+        private void bind(int index) {
+            final boolean used = index >= 0;
+            if ((this.index >= 0) != used) {
+                for (Node cell : cells) {
+                    if (cell != null) cell.setVisible(used);
+                }
+            }
+            this.index = index;
+            updateIndex(index);
+        }
+
+        private void moveTo(int slot) {
+            if (this.slot == slot) {
+                return;
+            }
+            this.slot = slot;
+            for (Node cell : cells) {
+                if (cell != null) GridPane.setRowIndex(cell, slot);
+            }
+        }
+    }
+
+    private final GridPane grid;
+    private final ScrollBar scrollBar = new ScrollBar();
+    private final Rectangle clip = new Rectangle();
+    private final Supplier<? extends Row> rowFactory;
+
+    /**
+     * The rows, in the order of the grid rows they are placed in
+     */
+    private final List<Row> rows = new ArrayList<>();
+    private Row[] assigned = new Row[0];
+    private Row[] spare = new Row[0];
+
+    private double measuredRowHeight = Double.NaN;
+    private double appliedRowHeight = Double.NaN;
+    private boolean rebind;
+    private boolean layingOut;
+
+    VirtualGridPane(GridPane grid, Supplier<? extends Row> rowFactory) {
+        this.grid = Objects.requireNonNull(grid);
+        this.rowFactory = Objects.requireNonNull(rowFactory);
+        getStyleClass().add(DEFAULT_STYLE_CLASS);
+
+        scrollBar.setOrientation(Orientation.VERTICAL);
+        scrollBar.setMax(0);
+        scrollBar.setVisible(false);
+        scrollBar.valueProperty().addListener(o -> {
+            if (!layingOut) requestLayout();
+        });
+        addEventHandler(ScrollEvent.SCROLL, event -> {
+            if (scrollBar.isVisible() && event.getDeltaY() != 0) {
+                scrollBar.setValue(clamp(scrollBar.getValue() - event.getDeltaY(), scrollBar.getMax()));
+                event.consume();
+            }
+        });
+
+        setClip(clip);
+        getChildren().setAll(grid, scrollBar);
+    }
+
+    // row count
+
+    private final IntegerProperty rowCount = new SimpleIntegerProperty(this, "rowCount", 0) {
+        @Override
+        protected void invalidated() {
+            requestLayout();
+        }
+    };
+
+    public int getRowCount() {
+        return rowCount.get();
+    }
+
+    /**
+     * @return the number of rows of the grid, including those outside the viewport
+     */
+    public IntegerProperty rowCountProperty() {
+        return rowCount;
+    }
+
+    public void setRowCount(int rowCount) {
+        this.rowCount.set(rowCount);
+    }
+
+    // fixed row height
+
+    private final DoubleProperty fixedRowHeight = new SimpleDoubleProperty(this, "fixedRowHeight", USE_COMPUTED_SIZE) {
+        @Override
+        protected void invalidated() {
+            measuredRowHeight = Double.NaN;
+            requestLayout();
+        }
+    };
+
+    public double getFixedRowHeight() {
+        return fixedRowHeight.get();
+    }
+
+    /**
+     * The height of every row. With {@link #USE_COMPUTED_SIZE} the grid uses the preferred height of the first row.
+     *
+     * @return the fixed row height property
+     */
+    public DoubleProperty fixedRowHeightProperty() {
+        return fixedRowHeight;
+    }
+
+    public void setFixedRowHeight(double fixedRowHeight) {
+        this.fixedRowHeight.set(fixedRowHeight);
+    }
+
+    /**
+     * Binds all the rows in the viewport again, e.g. when the data they show has changed.
+     */
+    public void refresh() {
+        rebind = true;
+        requestLayout();
+    }
+
+    /**
+     * Scrolls the grid so that the row is at the top of the viewport, or as close to it as possible.
+     *
+     * @param index the index of the row
+     */
+    public void scrollTo(int index) {
+        // clamped to the content height on layout
+        scrollBar.setValue(Math.max(0, index) * (rowHeight() + grid.getVgap()));
+        requestLayout();
+    }
+
+    /**
+     * @return the number of row nodes created so far, bounded by the number of rows fitting into the viewport
+     */
+    public int getCreatedRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return snappedLeftInset() + grid.prefWidth(-1) + snapSizeX(scrollBar.prefWidth(-1)) + snappedRightInset();
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        final int count = Math.max(0, getRowCount());
+        final double content = count == 0 ? 0 : count * (rowHeight() + grid.getVgap()) - grid.getVgap();
+        return snappedTopInset() + Math.min(content, DEFAULT_PREF_HEIGHT) + snappedBottomInset();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        layingOut = true;
+        try {
+            layoutRows();
+        } finally {
+            layingOut = false;
+        }
+    }
+
+    private void layoutRows() {
+        final double x = snappedLeftInset();
+        final double y = snappedTopInset();
+        final double w = getWidth() - x - snappedRightInset();
+        final double h = getHeight() - y - snappedBottomInset();
+        clip.setX(x);
+        clip.setY(y);
+        clip.setWidth(Math.max(0, w));
+        clip.setHeight(Math.max(0, h));
+
+        final int count = Math.max(0, getRowCount());
+        final double rowHeight = rowHeight();
+        final double vgap = grid.getVgap();
+        final double pitch = rowHeight + vgap;
+        final double contentHeight = count == 0 ? 0 : count * pitch - vgap;
+
+        final boolean scrollable = contentHeight > h;
+        final double barWidth = scrollable ? snapSizeX(scrollBar.prefWidth(-1)) : 0;
+        scrollBar.setVisible(scrollable);
+        scrollBar.setMin(0);
+        scrollBar.setMax(Math.max(0, contentHeight - h));
+        scrollBar.setVisibleAmount(h);
+        scrollBar.setUnitIncrement(pitch);
+        scrollBar.setBlockIncrement(h);
+        if (scrollBar.getValue() > scrollBar.getMax()) {
+            scrollBar.setValue(scrollBar.getMax());
+        }
+        scrollBar.resizeRelocate(x + w - barWidth, y, barWidth, Math.max(0, h));
+
+        final double scroll = scrollable ? scrollBar.getValue() : 0;
+        final int first = (int) (scroll / pitch);
+        final double offset = scroll - first * pitch;
+        final int slots = Math.max(1, (int) Math.ceil((h + offset) / pitch));
+        ensureRows(slots);
+        if (rowHeight != appliedRowHeight) {
+            for (RowConstraints constraints : grid.getRowConstraints()) {
+                constraints.setMinHeight(rowHeight);
+                constraints.setPrefHeight(rowHeight);
+                constraints.setMaxHeight(rowHeight);
+            }
+            appliedRowHeight = rowHeight;
+        }
+        assign(first, count);
+
+        grid.resizeRelocate(x, y - offset, Math.max(0, w - barWidth), rows.size() * pitch - vgap);
+    }
+
+    private double rowHeight() {
+        final double fixed = getFixedRowHeight();
+        if (fixed > 0) {
+            return fixed;
+        }
+        if (Double.isNaN(measuredRowHeight)) {
+            ensureRows(1);
+            final Row row = rows.get(0);
+            if (row.index < 0 && getRowCount() > 0) {
+                row.bind(0);
+            }
+            double height = 0;
+            for (Node cell : row.cells) {
+                if (cell != null) {
+                    cell.applyCss();
+                    height = Math.max(height, cell.prefHeight(-1));
+                }
+            }
+            height = Math.max(1, snapSizeY(height));
+            if (getScene() == null) {
+                // not styled yet, measured again once the grid is in a scene
+                return height;
+            }
+            measuredRowHeight = height;
+        }
+        return measuredRowHeight;
+    }
+
+    private void ensureRows(int count) {
+        if (rows.size() >= count) {
+            return;
+        }
+        final List<Node> added = new ArrayList<>();
+        final List<RowConstraints> constraints = new ArrayList<>();
+        final double height = Double.isNaN(appliedRowHeight) ? USE_COMPUTED_SIZE : appliedRowHeight;
+        while (rows.size() < count) {
+            final Row row = Objects.requireNonNull(rowFactory.get());
+            for (int column = 0; column < row.cells.length; column++) {
+                final Node cell = row.cells[column];
+                if (cell != null) {
+                    GridPane.setColumnIndex(cell, column);
+                    cell.setVisible(false);
+                    added.add(cell);
+                }
+            }
+            row.moveTo(rows.size());
+            rows.add(row);
+            constraints.add(new RowConstraints(height, height, height));
+        }
+        grid.getRowConstraints().addAll(constraints);
+        grid.getChildren().addAll(added);
+        assigned = new Row[rows.size()];
+        spare = new Row[rows.size()];
+    }
+
+    /**
+     * Places the rows showing the indexes from {@code first} on, keeping the rows that already show one of them
+     */
+    private void assign(int first, int count) {
+        final int slots = rows.size();
+        int spareCount = 0;
+        for (Row row : rows) {
+            final int slot = row.index - first;
+            if (!rebind && row.index >= 0 && row.index < count && slot >= 0 && slot < slots && assigned[slot] == null) {
+                assigned[slot] = row;
+            } else {
+                spare[spareCount++] = row;
+            }
+        }
+        int next = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            Row row = assigned[slot];
+            assigned[slot] = null;
+            final int index = first + slot < count ? first + slot : -1;
+            if (row == null) {
+                row = spare[next];
+                spare[next++] = null;
+                if (row.index != index || rebind) row.bind(index);
+            }
+            row.moveTo(slot);
+            rows.set(slot, row);
+        }
+        rebind = false;
+    }
+
+    private static double clamp(double value, double max) {
+        return Math.max(0, Math.min(value, max));
+    }
+}
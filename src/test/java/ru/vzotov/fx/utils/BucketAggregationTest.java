@@ -0,0 +1,128 @@
+package ru.vzotov.fx.utils;
+
+import javafx.beans.Observable;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BucketAggregationTest {
+
+    private static final int SEED = 42;
+
+    @Test
+    void aggregatesBucketsInKeyOrder() {
+        final DataSeries<Integer, Object> source = new DataSeries<>();
+        source.append(25, 1);
+        source.append(3, 2);
+        source.append(21, 4);
+        source.append(7, 8);
+
+        assertEquals(List.of("0=10.0", "2=5.0"), points(aggregate(source, BucketAggregation.Aggregate.SUM)));
+        assertEquals(List.of("0=2.0", "2=1.0"), points(aggregate(source, BucketAggregation.Aggregate.MIN)));
+        assertEquals(List.of("0=8.0", "2=4.0"), points(aggregate(source, BucketAggregation.Aggregate.MAX)));
+        assertEquals(List.of("0=5.0", "2=2.5"), points(aggregate(source, BucketAggregation.Aggregate.AVG)));
+        assertEquals(List.of("0=2.0", "2=2.0"), points(aggregate(source, BucketAggregation.Aggregate.COUNT)));
+    }
+
+    @Test
+    void removesEmptyBuckets() {
+        final DataSeries<Integer, Object> source = new DataSeries<>();
+        source.append(1, 1);
+        source.append(11, 2);
+        final BucketAggregation<Integer, Integer, Object> aggregation = aggregate(source, BucketAggregation.Aggregate.SUM);
+
+        source.remove(0);
+
+        assertEquals(List.of("1=2.0"), points(aggregation));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BucketAggregation.Aggregate.class)
+    void incrementalUpdatesMatchFullRecompute(BucketAggregation.Aggregate aggregate) {
+        final Random random = new Random(SEED);
+        final DataSeries<Integer, Object> source = new DataSeries<>();
+        for (int i = 0; i < 200; i++) {
+            source.append(random.nextInt(300), random.nextInt(101) - 50);
+        }
+        final BucketAggregation<Integer, Integer, Object> aggregation = aggregate(source, aggregate);
+        final List<Data<Integer, Object>> mirror = mirror(aggregation);
+
+        for (int step = 0; step < 2000; step++) {
+            final int size = source.size();
+            final int x = random.nextInt(300);
+            final int value = random.nextInt(101) - 50;
+            switch (size == 0 ? 0 : random.nextInt(6)) {
+                case 0 -> source.append(x, value);
+                case 1 -> source.add(random.nextInt(size + 1), new Data<>(x, value));
+                case 2 -> {
+                    final int from = random.nextInt(size);
+                    source.remove(from, Math.min(size, from + 1 + random.nextInt(3)));
+                }
+                case 3 -> source.setValue(random.nextInt(size), value);
+                case 4 -> source.setX(random.nextInt(size), x);
+                default -> source.set(random.nextInt(size), new Data<>(x, value));
+            }
+
+            final List<String> expected = points(aggregate(source, aggregate));
+            assertEquals(expected, points(aggregation), "step " + step);
+            assertEquals(expected, points(mirror), "events of step " + step);
+        }
+    }
+
+    @Test
+    void followsUpdatesReportedByExtractor() {
+        final ObservableList<Data<Integer, Object>> source =
+                FXCollections.observableArrayList(data -> new Observable[]{data.valueProperty()});
+        final Data<Integer, Object> point = new Data<>(1, 1);
+        source.add(point);
+        source.add(new Data<>(2, 5));
+        final BucketAggregation<Integer, Integer, Object> aggregation = aggregate(source, BucketAggregation.Aggregate.MAX);
+
+        point.setValue(10);
+        assertEquals(List.of("0=10.0"), points(aggregation));
+
+        point.setValue(0);
+        assertEquals(List.of("0=5.0"), points(aggregation));
+    }
+
+    private static BucketAggregation<Integer, Integer, Object> aggregate(ObservableList<? extends Data<Integer, Object>> source,
+                                                                        BucketAggregation.Aggregate aggregate) {
+        return new BucketAggregation<>(source, x -> x / 10, aggregate);
+    }
+
+    /**
+     * Copy of the list maintained only from its change events
+     */
+    static <T> List<T> mirror(ObservableList<T> list) {
+        final List<T> mirror = new ArrayList<>(list);
+        list.addListener((ListChangeListener<T>) c -> {
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    mirror.clear();
+                    mirror.addAll(c.getList());
+                } else if (!c.wasUpdated()) {
+                    mirror.subList(c.getFrom(), c.getFrom() + c.getRemovedSize()).clear();
+                    mirror.addAll(c.getFrom(), c.getAddedSubList());
+                }
+            }
+        });
+        return mirror;
+    }
+
+    static List<String> points(List<? extends Data<?, ?>> list) {
+        final List<String> points = new ArrayList<>(list.size());
+        for (Data<?, ?> data : list) {
+            points.add(data.getX() + "=" + data.getValue());
+        }
+        return points;
+    }
+}
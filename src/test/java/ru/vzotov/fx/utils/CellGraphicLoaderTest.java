@@ -0,0 +1,187 @@
+package ru.vzotov.fx.utils;
+
+import javafx.css.PseudoClass;
+import javafx.scene.Node;
+import javafx.scene.control.Cell;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CellGraphicLoaderTest {
+
+    private static final PseudoClass LOADING = PseudoClass.getPseudoClass("loading");
+
+    /**
+     * Decodings scheduled on the executor, run by the test
+     */
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final Executor gated = task -> {
+        synchronized (scheduled) {
+            scheduled.add(task);
+        }
+    };
+
+    private final List<String> decoded = new ArrayList<>();
+    private Image placeholder;
+    private CellGraphicLoader<String> loader;
+
+    @BeforeAll
+    static void startToolkit() {
+        FxThread.startup();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FxThread.run(() -> {
+            placeholder = new WritableImage(1, 1);
+            loader = new CellGraphicLoader<>(key -> {
+                synchronized (decoded) {
+                    decoded.add(key);
+                }
+                if (key.equals("broken")) {
+                    throw new IllegalStateException("Broken image");
+                }
+                return new WritableImage(key.length(), 1);
+            }, placeholder, 2, gated);
+        });
+    }
+
+    @Test
+    void showsPlaceholderUntilImageIsDecoded() throws Exception {
+        final Cell<String> cell = FxThread.call(Cell::new);
+        final ImageView view = FxThread.call(() -> (ImageView) loader.graphic(cell, "abc"));
+
+        FxThread.run(() -> {
+            assertSame(placeholder, view.getImage());
+            assertTrue(view.getPseudoClassStates().contains(LOADING));
+        });
+
+        runScheduled();
+        FxThread.run(() -> {
+            assertEquals(3, view.getImage().getWidth());
+            assertFalse(view.getPseudoClassStates().contains(LOADING));
+            assertSame(view, loader.graphic(cell, "abc"));
+            assertEquals(1, loader.loadCount());
+            assertEquals(0, loader.hitCount());
+        });
+    }
+
+    @Test
+    void servesCachedImages() throws Exception {
+        final Cell<String> first = FxThread.call(Cell::new);
+        final Cell<String> second = FxThread.call(Cell::new);
+        FxThread.run(() -> loader.graphic(first, "abc"));
+        runScheduled();
+
+        FxThread.run(() -> {
+            final ImageView view = (ImageView) loader.graphic(second, "abc");
+            assertEquals(3, view.getImage().getWidth());
+            assertEquals(1, loader.hitCount());
+            assertEquals(1, loader.loadCount());
+        });
+    }
+
+    @Test
+    void decodesOncePerKey() throws Exception {
+        final Cell<String> first = FxThread.call(Cell::new);
+        final Cell<String> second = FxThread.call(Cell::new);
+        final ImageView firstView = FxThread.call(() -> (ImageView) loader.graphic(first, "abc"));
+        final ImageView secondView = FxThread.call(() -> (ImageView) loader.graphic(second, "abc"));
+
+        runScheduled();
+
+        assertEquals(List.of("abc"), decoded);
+        FxThread.run(() -> {
+            assertSame(firstView.getImage(), secondView.getImage());
+            assertEquals(1, loader.loadCount());
+        });
+    }
+
+    @Test
+    void cancelsDecodingNoCellWaitsFor() throws Exception {
+        final Cell<String> cell = FxThread.call(Cell::new);
+        final ImageView view = FxThread.call(() -> (ImageView) loader.graphic(cell, "a"));
+        FxThread.run(() -> loader.graphic(cell, "bb"));
+        FxThread.run(() -> loader.graphic(cell, "ccc"));
+
+        runScheduled();
+
+        assertEquals(List.of("ccc"), decoded);
+        FxThread.run(() -> {
+            assertEquals(3, loader.loadCount());
+            assertEquals(2, loader.cancelCount());
+            assertEquals(1, loader.size());
+            assertEquals(3, view.getImage().getWidth());
+        });
+    }
+
+    @Test
+    void keepsDecodingAnotherCellWaitsFor() throws Exception {
+        final Cell<String> first = FxThread.call(Cell::new);
+        final Cell<String> second = FxThread.call(Cell::new);
+        final ImageView view = FxThread.call(() -> {
+            loader.graphic(first, "abc");
+            final ImageView waiting = (ImageView) loader.graphic(second, "abc");
+            loader.graphic(first, null);
+            return waiting;
+        });
+
+        runScheduled();
+
+        FxThread.run(() -> {
+            assertEquals(0, loader.cancelCount());
+            assertEquals(3, view.getImage().getWidth());
+        });
+    }
+
+    @Test
+    void keepsPlaceholderOnFailure() throws Exception {
+        final Cell<String> cell = FxThread.call(Cell::new);
+        final ImageView view = FxThread.call(() -> (ImageView) loader.graphic(cell, "broken"));
+
+        runScheduled();
+
+        FxThread.run(() -> {
+            assertSame(placeholder, view.getImage());
+            assertFalse(view.getPseudoClassStates().contains(LOADING));
+            assertEquals(0, loader.size());
+        });
+    }
+
+    @Test
+    void showsNothingWithoutKey() throws Exception {
+        final Cell<String> cell = FxThread.call(Cell::new);
+        FxThread.run(() -> {
+            assertNull(loader.graphic(cell, null));
+            final Node graphic = loader.graphic(cell, "abc");
+            assertNull(loader.graphic(cell, null));
+            assertNull(((ImageView) graphic).getImage());
+        });
+    }
+
+    /**
+     * Runs the scheduled decodings and waits until their images are published
+     */
+    private void runScheduled() throws Exception {
+        final List<Runnable> tasks;
+        synchronized (scheduled) {
+            tasks = new ArrayList<>(scheduled);
+            scheduled.clear();
+        }
+        tasks.forEach(Runnable::run);
+        FxThread.waitForEvents();
+    }
+}
@@ -0,0 +1,168 @@
+package ru.vzotov.fx.utils;
+
+import javafx.beans.Observable;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.util.StringConverter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CellTextCacheTest {
+
+    /**
+     * Mutable item without {@code equals}, formatted by its name
+     */
+    static final class Item {
+        final StringProperty name = new SimpleStringProperty();
+
+        Item(String name) {
+            this.name.set(name);
+        }
+    }
+
+    private int formats;
+
+    private final StringConverter<Item> converter = new StringConverter<>() {
+        @Override
+        public String toString(Item item) {
+            formats++;
+            return item == null ? "" : item.name.get();
+        }
+
+        @Override
+        public Item fromString(String string) {
+            return new Item(string);
+        }
+    };
+
+    @Test
+    void formatsEachItemOnce() {
+        final CellTextCache<Item> cache = new CellTextCache<>(converter, 10);
+        final Item item = new Item("a");
+
+        assertEquals("a", cache.toString(item));
+        assertEquals("a", cache.toString(item));
+        assertEquals(1, formats);
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(0.5, cache.hitRate());
+    }
+
+    @Test
+    void keepsTextsByIdentity() {
+        final CellTextCache<String> cache = new CellTextCache<>(new StringConverter<>() {
+            @Override
+            public String toString(String s) {
+                formats++;
+                return s;
+            }
+
+            @Override
+            public String fromString(String s) {
+                return s;
+            }
+        }, 10);
+        final String a = "text";
+        final String b = new String(a);
+
+        cache.toString(a);
+        cache.toString(b);
+
+        assertEquals(2, formats);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void invalidatedItemIsFormattedAgain() {
+        final CellTextCache<Item> cache = new CellTextCache<>(converter, 10);
+        final Item item = new Item("a");
+        cache.toString(item);
+
+        item.name.set("b");
+        assertEquals("a", cache.toString(item));
+        cache.invalidate(item);
+
+        assertEquals("b", cache.toString(item));
+        assertEquals(2, formats);
+    }
+
+    @Test
+    void invalidatesUpdatedReplacedAndRemovedItemsOfList() {
+        final CellTextCache<Item> cache = new CellTextCache<>(converter, 10);
+        final ObservableList<Item> items = FXCollections.observableArrayList(item -> new Observable[]{item.name});
+        final Item updated = new Item("a");
+        final Item replaced = new Item("b");
+        final Item removed = new Item("c");
+        final Item kept = new Item("d");
+        items.addAll(updated, replaced, removed, kept);
+        cache.invalidateOn(items);
+        items.forEach(cache::toString);
+
+        updated.name.set("a2");
+        items.set(1, new Item("e"));
+        items.remove(removed);
+
+        assertEquals(1, cache.size());
+        assertEquals("a2", cache.toString(updated));
+        assertEquals("d", cache.toString(kept));
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedTexts() {
+        final CellTextCache<Item> cache = new CellTextCache<>(converter, 2);
+        final Item a = new Item("a");
+        final Item b = new Item("b");
+        final Item c = new Item("c");
+        cache.toString(a);
+        cache.toString(b);
+        cache.toString(a);
+        cache.toString(c);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+        cache.toString(a);
+        assertEquals(2, cache.hitCount());
+        cache.toString(b);
+        assertEquals(4, formats);
+    }
+
+    @Test
+    void doesNotKeepItemsAlive() throws InterruptedException {
+        final CellTextCache<Item> cache = new CellTextCache<>(converter, 10);
+        final Item kept = new Item("kept");
+        cache.toString(kept);
+        cache.toString(new Item("collected"));
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (cache.size() > 1 && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, cache.size());
+        assertEquals("kept", cache.toString(kept));
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    void doesNotCacheNull() {
+        final CellTextCache<Item> cache = new CellTextCache<>(converter, 10);
+        assertEquals("", cache.toString(null));
+        assertNull(cache.fromString(null).name.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(NullPointerException.class, () -> new CellTextCache<Item>(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new CellTextCache<>(converter, 0));
+    }
+}
@@ -0,0 +1,117 @@
+package ru.vzotov.fx.utils;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.util.Duration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConversionBindingTest {
+
+    private final StringProperty target = new SimpleStringProperty();
+    private final ObjectProperty<Integer> source = new SimpleObjectProperty<>(1);
+    private final AtomicInteger toTargetCount = new AtomicInteger();
+
+    private final Function<Integer, String> toTarget = value -> {
+        toTargetCount.incrementAndGet();
+        return value == null ? null : Integer.toString(value);
+    };
+
+    private final Function<String, Integer> toSource = Integer::valueOf;
+
+    @BeforeAll
+    static void startToolkit() {
+        FxThread.startup();
+    }
+
+    @Test
+    void convertsBothWays() {
+        ConversionBinding.bind(target, source, toSource, toTarget);
+        assertEquals("1", target.get());
+
+        source.set(2);
+        assertEquals("2", target.get());
+
+        target.set("3");
+        assertEquals(3, source.get());
+    }
+
+    @Test
+    void setsSourceToNullWhenConversionFails() {
+        ConversionBinding.bind(target, source, toSource, toTarget);
+
+        target.set("not a number");
+
+        assertNull(source.get());
+    }
+
+    @Test
+    void coalescesSourceChangesUntilFlush() throws Exception {
+        FxThread.run(() -> {
+            final ConversionBinding<String, Integer> binding =
+                    ConversionBinding.bindCoalescing(target, source, toSource, toTarget, Duration.hours(1));
+            toTargetCount.set(0);
+
+            for (int i = 2; i <= 100; i++) {
+                source.set(i);
+            }
+            assertEquals("1", target.get());
+            assertEquals(0, toTargetCount.get());
+
+            binding.flush();
+            assertEquals("100", target.get());
+            assertEquals(1, toTargetCount.get());
+
+            binding.flush();
+            assertEquals(1, toTargetCount.get());
+        });
+    }
+
+    @Test
+    void appliesCoalescedChangeOnPulse() throws Exception {
+        FxThread.run(() -> {
+            ConversionBinding.bindCoalescing(target, source, toSource, toTarget);
+            toTargetCount.set(0);
+            for (int i = 2; i <= 100; i++) {
+                source.set(i);
+            }
+        });
+
+        FxThread.waitFor(() -> "100".equals(target.get()));
+
+        FxThread.run(() -> assertEquals(1, toTargetCount.get()));
+    }
+
+    @Test
+    void targetChangeDropsPendingConversion() throws Exception {
+        FxThread.run(() -> {
+            final ConversionBinding<String, Integer> binding =
+                    ConversionBinding.bindCoalescing(target, source, toSource, toTarget, Duration.hours(1));
+            toTargetCount.set(0);
+
+            source.set(2);
+            target.set("5");
+            binding.flush();
+
+            assertEquals(5, source.get());
+            assertEquals("5", target.get());
+            assertEquals(0, toTargetCount.get());
+        });
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> ConversionBinding.bind(source, source, Function.identity(), Function.identity()));
+        assertThrows(IllegalArgumentException.class,
+                () -> ConversionBinding.bindCoalescing(target, source, toSource, toTarget, Duration.INDEFINITE));
+    }
+}
@@ -0,0 +1,125 @@
+package ru.vzotov.fx.utils;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataTest {
+
+    // footprint
+
+    @Test
+    void unobservedDataHasOnlyItsFields() {
+        final long oop = VM.current().sizeOfField("java.lang.Object");
+        final long alignment = VM.current().objectAlignment();
+        // header, x, node and their three unused properties, value
+        final long fields = VM.current().objectHeaderSize() + 5 * oop + Double.BYTES;
+        final long expected = (fields + alignment - 1) / alignment * alignment;
+
+        final long shallow = ClassLayout.parseClass(Data.class).instanceSize();
+        assertTrue(shallow <= expected, () -> "Shallow size " + shallow + " exceeds " + expected);
+
+        final Data<Object, Object> data = new Data<>(null, 1.0);
+        assertEquals(shallow, GraphLayout.parseInstance(data).totalSize());
+    }
+
+    @Test
+    void unobservedDataRetainsOnlyItsKey() {
+        final String key = "key";
+        final Data<String, Object> data = new Data<>(key, 1.0);
+        assertEquals(ClassLayout.parseClass(Data.class).instanceSize() + GraphLayout.parseInstance(key).totalSize(),
+                GraphLayout.parseInstance(data).totalSize());
+    }
+
+    @Test
+    void inflatedPropertyIsRetained() {
+        final Data<Object, Object> data = new Data<>(null, 1.0);
+        final long before = GraphLayout.parseInstance(data).totalSize();
+        data.valueProperty();
+        assertTrue(GraphLayout.parseInstance(data).totalSize()
+                >= before + ClassLayout.parseClass(SimpleDoubleProperty.class).instanceSize());
+    }
+
+    // behaviour
+
+    @Test
+    void inflationKeepsValues() {
+        final Data<String, Object> data = new Data<>("a", 1.0);
+        final Object node = new Object();
+        data.setNode(node);
+
+        assertEquals("a", data.xProperty().get());
+        assertEquals(1.0, data.valueProperty().get());
+        assertSame(node, data.nodeProperty().get());
+        assertEquals("a", data.getX());
+        assertEquals(1.0, data.getValue());
+        assertSame(node, data.getNode());
+    }
+
+    @Test
+    void propertiesAreCreatedOnce() {
+        final Data<String, Object> data = new Data<>("a", 1.0);
+        assertSame(data.xProperty(), data.xProperty());
+        assertSame(data.valueProperty(), data.valueProperty());
+        assertSame(data.nodeProperty(), data.nodeProperty());
+        assertSame(data, data.valueProperty().getBean());
+        assertEquals("value", data.valueProperty().getName());
+    }
+
+    @Test
+    void settersBehaveTheSameBeforeAndAfterInflation() {
+        final Data<String, Object> lazy = new Data<>("a", 1.0);
+        final Data<String, Object> inflated = new Data<>("a", 1.0);
+        inflated.xProperty();
+        inflated.valueProperty();
+        inflated.nodeProperty();
+
+        for (Data<String, Object> data : List.of(lazy, inflated)) {
+            final Object node = new Object();
+            data.setX("b");
+            data.setValue(2.0);
+            data.setNode(node);
+            assertEquals("b", data.getX());
+            assertEquals(2.0, data.getValue());
+            assertSame(node, data.getNode());
+            data.setNode(null);
+            assertEquals(null, data.getNode());
+        }
+    }
+
+    @Test
+    void setterNotifiesAfterInflation() {
+        final Data<String, Object> data = new Data<>("a", 1.0);
+        final DoubleProperty value = data.valueProperty();
+        final ObjectProperty<String> x = data.xProperty();
+        final List<Object> changes = new ArrayList<>();
+        value.addListener((observable, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        x.addListener((observable, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+
+        data.setValue(2.0);
+        data.setValue(2.0);
+        data.setX("b");
+
+        assertEquals(List.of("1.0->2.0", "a->b"), changes);
+    }
+
+    @Test
+    void propertyWritesAreVisibleThroughGetters() {
+        final Data<String, Object> data = new Data<>("a", 1.0);
+        data.valueProperty().set(3.0);
+        data.xProperty().set("c");
+        assertEquals(3.0, data.getValue());
+        assertEquals("c", data.getX());
+    }
+}
@@ -0,0 +1,106 @@
+package ru.vzotov.fx.utils;
+
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.vzotov.fx.utils.BucketAggregationTest.mirror;
+import static ru.vzotov.fx.utils.BucketAggregationTest.points;
+
+class DownsamplingTest {
+
+    private static final int SEED = 7;
+    private static final int TARGET = 32;
+
+    @Test
+    void keepsSmallSourcesAsTheyAre() {
+        final DataSeries<Integer, Object> source = series(new Random(SEED), 10);
+        assertEquals(points(source), points(Downsampling.minMax(source, TARGET)));
+        assertEquals(points(source), points(Downsampling.lttb(source, x -> x, TARGET)));
+    }
+
+    @Test
+    void minMaxKeepsSpikes() {
+        final DataSeries<Integer, Object> source = new DataSeries<>();
+        for (int i = 0; i < 1000; i++) {
+            source.append(i, i == 500 ? 1000 : i == 700 ? -1000 : 0);
+        }
+        final List<String> points = points(Downsampling.minMax(source, TARGET));
+        assertTrue(points.size() <= TARGET);
+        assertTrue(points.contains("500=1000.0"));
+        assertTrue(points.contains("700=-1000.0"));
+    }
+
+    @Test
+    void lttbKeepsFirstAndLastPoints() {
+        final DataSeries<Integer, Object> source = series(new Random(SEED), 1000);
+        final List<String> points = points(Downsampling.lttb(source, x -> x, TARGET));
+        assertTrue(points.size() <= TARGET);
+        assertEquals(points(source.subList(0, 1)).get(0), points.get(0));
+        assertEquals(points(source.subList(999, 1000)).get(0), points.get(points.size() - 1));
+    }
+
+    @Test
+    void rejectsTooSmallTargets() {
+        final DataSeries<Integer, Object> source = new DataSeries<>();
+        assertThrows(IllegalArgumentException.class, () -> Downsampling.minMax(source, 1));
+        assertThrows(IllegalArgumentException.class, () -> Downsampling.lttb(source, x -> x, 2));
+    }
+
+    @Test
+    void minMaxIncrementalUpdatesMatchFullRecompute() {
+        incrementalUpdatesMatchFullRecompute(source -> Downsampling.minMax(source, TARGET));
+    }
+
+    @Test
+    void lttbIncrementalUpdatesMatchFullRecompute() {
+        incrementalUpdatesMatchFullRecompute(source -> Downsampling.lttb(source, x -> x, TARGET));
+    }
+
+    private static void incrementalUpdatesMatchFullRecompute(
+            Function<ObservableList<Data<Integer, Object>>, Downsampling<Integer, Object>> downsample) {
+        final Random random = new Random(SEED);
+        final DataSeries<Integer, Object> source = series(random, 100);
+        final Downsampling<Integer, Object> downsampling = downsample.apply(source);
+        final List<Data<Integer, Object>> mirror = mirror(downsampling);
+        int compared = 0;
+
+        for (int step = 0; step < 2000; step++) {
+            final int size = source.size();
+            final int value = random.nextInt(1001) - 500;
+            switch (random.nextInt(6)) {
+                case 0, 1 -> source.append(size, value);
+                case 2 -> source.add(random.nextInt(size + 1), new Data<>(size, value));
+                case 3 -> source.remove(random.nextInt(size));
+                case 4 -> source.set(random.nextInt(size), new Data<>(size, value));
+                default -> source.setValue(random.nextInt(size), value);
+            }
+
+            assertEquals(points(downsampling), points(mirror), "events of step " + step);
+            final Downsampling<Integer, Object> recomputed = downsample.apply(source);
+            // the width is only halved once half of the buckets are enough, a new list may use the smaller one
+            final int width = downsampling.getBucketWidth();
+            assertTrue(width == recomputed.getBucketWidth() || width == 2 * recomputed.getBucketWidth(),
+                    "width of step " + step);
+            if (width == recomputed.getBucketWidth()) {
+                assertEquals(points(recomputed), points(downsampling), "step " + step);
+                compared++;
+            }
+        }
+        assertTrue(compared > 1000, "compared " + compared + " steps");
+    }
+
+    private static DataSeries<Integer, Object> series(Random random, int size) {
+        final DataSeries<Integer, Object> source = new DataSeries<>();
+        for (int i = 0; i < size; i++) {
+            source.append(i, random.nextInt(1001) - 500);
+        }
+        return source;
+    }
+}
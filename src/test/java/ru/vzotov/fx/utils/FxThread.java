@@ -0,0 +1,88 @@
+package ru.vzotov.fx.utils;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs test code on the JavaFX Application Thread of a toolkit started on the Monocle headless platform.
+ */
+final class FxThread {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static boolean started;
+
+    private FxThread() {
+    }
+
+    static synchronized void startup() {
+        if (started) {
+            return;
+        }
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+        System.setProperty("java.awt.headless", "true");
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        try {
+            if (!latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("JavaFX toolkit did not start");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting JavaFX toolkit", e);
+        }
+        Platform.setImplicitExit(false);
+        started = true;
+    }
+
+    static <T> T call(Callable<T> action) throws Exception {
+        startup();
+        final FutureTask<T> task = new FutureTask<>(action);
+        Platform.runLater(task);
+        try {
+            return task.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    static void run(Runnable action) throws Exception {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Waits until the events posted to the JavaFX Application Thread so far have been handled
+     */
+    static void waitForEvents() throws Exception {
+        run(() -> {
+        });
+    }
+
+    /**
+     * Polls a condition on the JavaFX Application Thread, e.g. one that holds after the next pulses
+     */
+    static void waitFor(Callable<Boolean> condition) throws Exception {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!call(condition)) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException("Condition not met in " + TIMEOUT_SECONDS + " s");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package ru.vzotov.fx.utils;
+
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PagedItemListTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    /**
+     * Loads on the calling thread, the results are published on the next events of the JavaFX Application Thread
+     */
+    private static final Executor DIRECT = Runnable::run;
+
+    private final List<String> fetches = new ArrayList<>();
+
+    private final ItemSource<String> source = new ItemSource<>() {
+        private final List<String> items = IntStream.range(0, 95).mapToObj(i -> "item" + i).collect(Collectors.toList());
+
+        @Override
+        public int count() {
+            return items.size();
+        }
+
+        @Override
+        public List<String> fetch(int offset, int limit) {
+            fetches.add(offset + "+" + limit);
+            return items.subList(offset, Math.min(items.size(), offset + limit));
+        }
+    };
+
+    @BeforeAll
+    static void startToolkit() {
+        FxThread.startup();
+    }
+
+    @Test
+    void showsPlaceholdersUntilPagesAreRequested() throws Exception {
+        final PagedItemList<String> list = create(5);
+
+        FxThread.run(() -> {
+            assertEquals(95, list.size());
+            assertNull(list.get(0));
+            assertNull(list.get(94));
+            assertFalse(list.isLoaded(0));
+            assertFalse(list.isLoading());
+        });
+        assertEquals(List.of(), fetches);
+    }
+
+    @Test
+    void loadsRequestedPageAndPrefetchesNextOne() throws Exception {
+        final PagedItemList<String> list = create(5);
+        final List<String> changes = new ArrayList<>();
+        FxThread.run(() -> {
+            list.addListener((ListChangeListener<String>) c -> {
+                while (c.next()) {
+                    changes.add((c.wasReplaced() ? "replaced " : "changed ") + c.getFrom() + ".." + c.getTo());
+                }
+            });
+            list.request(15);
+            assertTrue(list.isLoading());
+        });
+        FxThread.waitForEvents();
+
+        FxThread.run(() -> {
+            assertEquals("item15", list.get(15));
+            assertEquals("item29", list.get(29));
+            assertNull(list.get(30));
+            assertTrue(list.isLoaded(10));
+            assertFalse(list.isLoaded(30));
+            assertFalse(list.isLoading());
+        });
+        assertEquals(List.of("10+10", "20+10"), fetches);
+        assertEquals(List.of("replaced 10..20", "replaced 20..30"), changes);
+    }
+
+    @Test
+    void loadsShortLastPage() throws Exception {
+        final PagedItemList<String> list = create(5);
+        FxThread.run(() -> list.request(94));
+        FxThread.waitForEvents();
+
+        FxThread.run(() -> {
+            assertEquals("item94", list.get(94));
+            assertEquals("item90", list.get(90));
+        });
+        assertEquals(List.of("90+10"), fetches);
+    }
+
+    @Test
+    void loadsEachPageOnce() throws Exception {
+        final PagedItemList<String> list = create(5);
+        FxThread.run(() -> {
+            list.request(0);
+            list.request(5);
+        });
+        FxThread.waitForEvents();
+        FxThread.run(() -> list.request(9));
+        FxThread.waitForEvents();
+
+        assertEquals(List.of("0+10", "10+10"), fetches);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedPages() throws Exception {
+        final PagedItemList<String> list = create(3);
+        // pages 0 and 1, then 2 and 3: page 0 is the eldest
+        FxThread.run(() -> list.request(0));
+        FxThread.waitForEvents();
+        FxThread.run(() -> list.request(25));
+        FxThread.waitForEvents();
+
+        FxThread.run(() -> {
+            assertFalse(list.isLoaded(0));
+            assertNull(list.get(0));
+            assertEquals("item10", list.get(10));
+            assertEquals("item39", list.get(39));
+        });
+
+        // the items read above make page 2 the eldest
+        FxThread.run(() -> list.request(94));
+        FxThread.waitForEvents();
+        FxThread.run(() -> {
+            assertTrue(list.isLoaded(10));
+            assertFalse(list.isLoaded(20));
+            assertTrue(list.isLoaded(30));
+            assertEquals("item94", list.get(94));
+        });
+    }
+
+    @Test
+    void refreshDropsPages() throws Exception {
+        final PagedItemList<String> list = create(5);
+        FxThread.run(() -> list.request(0));
+        FxThread.waitForEvents();
+
+        FxThread.run(list::refresh);
+        FxThread.waitForEvents();
+
+        FxThread.run(() -> {
+            assertEquals(95, list.size());
+            assertFalse(list.isLoaded(0));
+            assertNull(list.get(0));
+        });
+    }
+
+    @Test
+    void rejectsTooFewPages() {
+        assertThrows(IllegalArgumentException.class, () -> new PagedItemList<>(source, PAGE_SIZE, 2, DIRECT));
+        assertThrows(IllegalArgumentException.class, () -> new PagedItemList<>(source, 0, 3, DIRECT));
+    }
+
+    private PagedItemList<String> create(int maxPages) throws Exception {
+        final PagedItemList<String> list = FxThread.call(() -> new PagedItemList<>(source, PAGE_SIZE, maxPages, DIRECT));
+        FxThread.waitForEvents();
+        return list;
+    }
+}
@@ -0,0 +1,103 @@
+package ru.vzotov.fx.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TypeAheadIndexTest {
+
+    private static final List<String> CITIES = Arrays.asList(
+            "Moscow", "Saint Petersburg", "Novosibirsk", "Yekaterinburg", null, "Kazan", "Nizhny Novgorod", "Samara");
+
+    private final TypeAheadIndex<String> index = TypeAheadIndex.build(CITIES, Function.identity());
+
+    @Test
+    void findsSubstringsIgnoringCase() {
+        assertArrayEquals(new int[]{1, 3}, search("BURG"));
+        assertArrayEquals(new int[]{2, 6}, search("nov"));
+        assertArrayEquals(new int[]{0}, search("sco"));
+        assertArrayEquals(new int[0], search("xyz"));
+    }
+
+    @Test
+    void scansShortQueries() {
+        assertArrayEquals(new int[]{0, 1, 2, 7}, search("s"));
+        assertArrayEquals(new int[]{1, 3, 5, 7}, search("a"));
+        assertArrayEquals(new int[]{1, 7}, search("sa"));
+    }
+
+    @Test
+    void emptyQueryMatchesEverything() {
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6, 7}, search(""));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6, 7}, search(null));
+        assertArrayEquals(new int[]{2, 5}, index.search("", new int[]{2, 5}, () -> false));
+    }
+
+    @Test
+    void restrictsResultsToCandidates() {
+        assertArrayEquals(new int[]{3}, index.search("burg", new int[]{0, 2, 3, 4, 5, 6, 7}, () -> false));
+        assertArrayEquals(new int[]{6}, index.search("nov", new int[]{6, 7}, () -> false));
+        assertArrayEquals(new int[0], index.search("n", new int[]{0}, () -> false));
+    }
+
+    @Test
+    void returnsNullWhenCancelled() {
+        assertNull(index.search("burg", null, () -> true));
+    }
+
+    @Test
+    void keepsItemsOfTheSnapshot() {
+        final List<String> items = new ArrayList<>(List.of("a", "b"));
+        final TypeAheadIndex<String> snapshot = TypeAheadIndex.build(items, Function.identity());
+        items.clear();
+        assertEquals(2, snapshot.size());
+        assertEquals("b", snapshot.get(1));
+    }
+
+    @Test
+    void matchesLinearScan() {
+        final Random random = new Random(3);
+        final List<String> items = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            final char[] text = new char[3 + random.nextInt(10)];
+            for (int j = 0; j < text.length; j++) {
+                text[j] = (char) ((random.nextBoolean() ? 'a' : 'A') + random.nextInt(4));
+            }
+            items.add(new String(text));
+        }
+        final TypeAheadIndex<String> large = TypeAheadIndex.build(items, Function.identity());
+        for (int i = 0; i < 200; i++) {
+            final char[] query = new char[1 + random.nextInt(5)];
+            for (int j = 0; j < query.length; j++) {
+                query[j] = (char) ('a' + random.nextInt(4));
+            }
+            final String q = new String(query);
+            final int[] all = new int[items.size()];
+            Arrays.setAll(all, j -> j);
+            assertArrayEquals(scan(items, q, all), large.search(q, null, () -> false), q);
+
+            final int[] even = new int[items.size() / 2];
+            Arrays.setAll(even, j -> j * 2);
+            assertArrayEquals(scan(items, q, even), large.search(q, even, () -> false), q);
+        }
+    }
+
+    private int[] search(String query) {
+        return index.search(query, null, () -> false);
+    }
+
+    private static int[] scan(List<String> items, String query, int[] candidates) {
+        return Arrays.stream(candidates)
+                .filter(i -> items.get(i).toLowerCase(Locale.ROOT).contains(query))
+                .toArray();
+    }
+}